@@ -81,13 +81,13 @@ public final class FxAssert {
     @Unstable(reason = "is missing apidocs")
     public static <T extends Node> void verifyThat(String nodeQuery,
                                                    Matcher<T> nodeMatcher) {
-        verifyThatImpl(emptyReason(), toNode(nodeQuery), nodeMatcher);
+        verifyThat(toNodeQuery(nodeQuery), nodeMatcher);
     }
 
     @Unstable(reason = "is missing apidocs; might change to simplify iterable handling")
     public static <T extends Node> void verifyThatIter(String nodeQuery,
                                                        Matcher<Iterable<T>> nodesMatcher) {
-        verifyThatImpl(emptyReason(), toNodeSet(nodeQuery), nodesMatcher);
+        verifyThatIter(toNodeQuery(nodeQuery), nodesMatcher);
     }
 
     // ASSERTIONS: NODE QUERY + MATCHER.
@@ -95,13 +95,13 @@ public final class FxAssert {
     @Unstable(reason = "is missing apidocs")
     public static <T extends Node> void verifyThat(NodeQuery nodeQuery,
                                                    Matcher<T> nodeMatcher) {
-        verifyThatImpl(emptyReason(), toNode(nodeQuery), nodeMatcher);
+        verifyThatImpl(emptyReason(), toNode(nodeQuery), nodeMatcher, nodeQuery);
     }
 
     @Unstable(reason = "is missing apidocs; might change to simplify iterable handling")
     public static <T extends Node> void verifyThatIter(NodeQuery nodeQuery,
                                                        Matcher<Iterable<T>> nodesMatcher) {
-        verifyThatImpl(emptyReason(), toNodeSet(nodeQuery), nodesMatcher);
+        verifyThatImpl(emptyReason(), toNodeSet(nodeQuery), nodesMatcher, nodeQuery);
     }
 
     // ASSERTIONS: {NODE, STRING QUERY, NODE QUERY} + PREDICATE.
@@ -115,13 +115,14 @@ public final class FxAssert {
     @Unstable(reason = "is missing apidocs; might change if typing causes trouble")
     public static <T extends Node> void verifyThat(String nodeQuery,
                                                    Predicate<T> nodePredicate) {
-        verifyThatImpl(emptyReason(), toNode(nodeQuery), toNodeMatcher(nodePredicate));
+        verifyThat(toNodeQuery(nodeQuery), nodePredicate);
     }
 
     @Unstable(reason = "is missing apidocs; might change if typing causes trouble")
     public static <T extends Node> void verifyThat(NodeQuery nodeQuery,
                                                    Predicate<T> nodePredicate) {
-        verifyThatImpl(emptyReason(), toNode(nodeQuery), toNodeMatcher(nodePredicate));
+        verifyThatImpl(emptyReason(), toNode(nodeQuery), toNodeMatcher(nodePredicate),
+            nodeQuery);
     }
 
     // INTERNAL CONTEXT.
@@ -151,18 +152,30 @@ public final class FxAssert {
         }
     }
 
-    private static String emptyReason() {
-        return EMPTY_STRING;
+    private static <T> void verifyThatImpl(String reason,
+                                           T value,
+                                           Matcher<? super T> matcher,
+                                           NodeQuery nodeQuery) {
+        try {
+            verifyThatImpl(reason, value, matcher);
+        }
+        catch (AssertionError error) {
+            // attach the statistics of profiled queries, see NodeQuery.profile().
+            String queryProfile = nodeQuery.explain();
+            if (queryProfile.isEmpty()) {
+                throw error;
+            }
+            throw new AssertionError(error.getMessage() + "\nQuery profile:\n" + queryProfile);
+        }
     }
 
-    private static <T extends Node> T toNode(String nodeQuery) {
-        NodeFinder nodeFinder = assertContext().getNodeFinder();
-        return toNode(nodeFinder.lookup(nodeQuery));
+    private static String emptyReason() {
+        return EMPTY_STRING;
     }
 
-    private static <T extends Node> Set<T> toNodeSet(String nodeQuery) {
+    private static NodeQuery toNodeQuery(String nodeQuery) {
         NodeFinder nodeFinder = assertContext().getNodeFinder();
-        return toNodeSet(nodeFinder.lookup(nodeQuery));
+        return nodeFinder.lookup(nodeQuery);
     }
 
     private static <T extends Node> T toNode(NodeQuery nodeQuery) {
@@ -241,6 +241,20 @@ public class FxRobot implements FxRobotInterface {
         return context.getNodeFinder().lookup(predicate);
     }
 
+    @Override
+    @Unstable(reason = "is missing apidocs")
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Predicate<? super T> predicate) {
+        return context.getNodeFinder().lookup(type, predicate);
+    }
+
+    @Override
+    @Unstable(reason = "is missing apidocs")
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Matcher<? super T> matcher) {
+        return context.getNodeFinder().lookup(type, matcher);
+    }
+
     @Override
     @Unstable(reason = "is missing apidocs")
     public Node rootNode(Window window) {
@@ -94,6 +94,17 @@ public interface FxRobotInterface {
     public NodeQuery lookup(String query);
     public <T extends Node> NodeQuery lookup(Matcher<T> matcher);
     public <T extends Node> NodeQuery lookup(Predicate<T> predicate);
+
+    public default <T extends Node> NodeQuery lookup(Class<T> type,
+                                                     Predicate<? super T> predicate) {
+        return fromAll().lookup(type, predicate);
+    }
+
+    public default <T extends Node> NodeQuery lookup(Class<T> type,
+                                                     Matcher<? super T> matcher) {
+        return fromAll().lookup(type, matcher);
+    }
+
     public NodeQuery from(NodeQuery nodeQuery);
 
     //---------------------------------------------------------------------------------------------
@@ -37,6 +37,7 @@ import org.testfx.toolkit.ToolkitService;
 import org.testfx.toolkit.impl.ApplicationLauncherImpl;
 import org.testfx.toolkit.impl.ApplicationServiceImpl;
 import org.testfx.toolkit.impl.ToolkitServiceImpl;
+import org.testfx.util.WaitTelemetry;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.testfx.util.WaitForAsyncUtils.waitFor;
@@ -270,12 +271,32 @@ public final class FxToolkit {
 
     private static <T> T waitForLaunch(Future<T> future)
                                 throws TimeoutException {
-        return waitFor(context.getLaunchTimeoutInMillis(), MILLISECONDS, future);
+        long timeoutInMillis = context.getLaunchTimeoutInMillis();
+        return waitForTimeout("FxToolkit.waitForLaunch", timeoutInMillis, future);
     }
 
     private static <T> T waitForSetup(Future<T> future)
                                throws TimeoutException {
-        return waitFor(context.getSetupTimeoutInMillis(), MILLISECONDS, future);
+        long timeoutInMillis = context.getSetupTimeoutInMillis();
+        return waitForTimeout("FxToolkit.waitForSetup", timeoutInMillis, future);
+    }
+
+    private static <T> T waitForTimeout(String method,
+                                        long timeoutInMillis,
+                                        Future<T> future)
+                                 throws TimeoutException {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            return waitFor(timeoutInMillis, MILLISECONDS, future);
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            throw exception;
+        }
+        finally {
+            WaitTelemetry.end(method, telemetry, timedOut);
+        }
     }
 
     private static void showStage(Stage stage) {
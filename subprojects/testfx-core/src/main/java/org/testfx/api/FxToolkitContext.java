@@ -45,6 +45,8 @@ public class FxToolkitContext {
 
     private long setupTimeoutInMillis = parseLong(getProperty("testfx.setup.timeout", "30000"));
 
+    private long testTimeoutInMillis = parseLong(getProperty("testfx.test.timeout", "0"));
+
     //---------------------------------------------------------------------------------------------
     // GETTER AND SETTER.
     //---------------------------------------------------------------------------------------------
@@ -97,4 +99,12 @@ public class FxToolkitContext {
         this.setupTimeoutInMillis = setupTimeoutInMillis;
     }
 
+    public long getTestTimeoutInMillis() {
+        return testTimeoutInMillis;
+    }
+
+    public void setTestTimeoutInMillis(long testTimeoutInMillis) {
+        this.testTimeoutInMillis = testTimeoutInMillis;
+    }
+
 }
@@ -28,6 +28,7 @@ import org.testfx.api.FxAssert;
 import org.testfx.api.annotation.Unstable;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.util.ItemQueryUtils;
 
 import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 
@@ -51,6 +52,18 @@ public class ListViewMatchers {
         return typeSafeMatcher(ListView.class, descriptionText, node -> hasListCell(node, value));
     }
 
+    /**
+     * Creates a matcher that matches list views with an item that equals the given value, or
+     * whose string representation equals it. Unlike {@link #hasListCell(Object)}, the item does
+     * not need to have a rendered cell.
+     */
+    @Factory
+    @Unstable(reason = "was recently added")
+    public static Matcher<Node> hasItem(Object value) {
+        String descriptionText = "has item \"" + value + "\"";
+        return typeSafeMatcher(ListView.class, descriptionText, node -> hasItem(node, value));
+    }
+
     @Factory
     @Unstable(reason = "is missing apidocs")
     public static Matcher<Node> hasItems(int amount) {
@@ -108,6 +121,11 @@ public class ListViewMatchers {
             .tryQuery().isPresent();
     }
 
+    private static boolean hasItem(ListView<?> listView,
+                                   Object value) {
+        return !ItemQueryUtils.rowsOf(listView, value).isEmpty();
+    }
+
     private static boolean hasItems(ListView listView,
                                     int amount) {
         return listView.getItems().size() == amount;
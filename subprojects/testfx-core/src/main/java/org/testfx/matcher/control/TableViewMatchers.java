@@ -32,6 +32,7 @@ import org.testfx.api.FxAssert;
 import org.testfx.api.annotation.Unstable;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.util.ItemQueryUtils;
 
 import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 
@@ -56,6 +57,20 @@ public class TableViewMatchers {
             node -> hasTableCell(node, value));
     }
 
+    /**
+     * Creates a matcher that matches table views with a cell value that equals the given value,
+     * or whose string representation equals it. Unlike {@link #hasTableCell(Object)}, the cell
+     * values are taken from the cell value factories of the columns, so the row does not need to
+     * have a rendered cell.
+     */
+    @Factory
+    @Unstable(reason = "was recently added")
+    public static Matcher<Node> hasCellValue(Object value) {
+        String descriptionText = "has cell value \"" + value + "\"";
+        return typeSafeMatcher(TableView.class, descriptionText,
+            node -> hasCellValue(node, value));
+    }
+
     @Factory
     @Unstable(reason = "is missing apidocs")
     public static Matcher<Node> hasItems(int amount) {
@@ -84,6 +99,11 @@ public class TableViewMatchers {
             .tryQuery().isPresent();
     }
 
+    private static boolean hasCellValue(TableView<?> tableView,
+                                        Object value) {
+        return !ItemQueryUtils.rowsOf(tableView, value).isEmpty();
+    }
+
     private static boolean hasItems(TableView tableView,
                                     int amount) {
         return tableView.getItems().size() == amount;
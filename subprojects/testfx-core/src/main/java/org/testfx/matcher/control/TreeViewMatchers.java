@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.matcher.control;
+
+import javafx.scene.Node;
+import javafx.scene.control.TreeView;
+
+import org.hamcrest.Factory;
+import org.hamcrest.Matcher;
+import org.testfx.api.annotation.Unstable;
+import org.testfx.util.ItemQueryUtils;
+
+import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
+
+@Unstable(reason = "needs more tests")
+public class TreeViewMatchers {
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a matcher that matches tree views with a tree item, expanded or not, whose value
+     * equals the given value.
+     */
+    @Factory
+    @Unstable(reason = "was recently added")
+    public static Matcher<Node> hasTreeItem(Object value) {
+        String descriptionText = "has tree item \"" + value + "\"";
+        return typeSafeMatcher(TreeView.class, descriptionText,
+            node -> hasTreeItem(node, value));
+    }
+
+    /**
+     * Creates a matcher that matches tree views with an expanded tree item whose value equals the
+     * given value, or whose string representation equals it, at the given row.
+     */
+    @Factory
+    @Unstable(reason = "was recently added")
+    public static Matcher<Node> hasTreeItemAtRow(Object value,
+                                                 int row) {
+        String descriptionText = "has tree item \"" + value + "\" at row " + row;
+        return typeSafeMatcher(TreeView.class, descriptionText,
+            node -> hasTreeItemAtRow(node, value, row));
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static boolean hasTreeItem(TreeView<?> treeView,
+                                       Object value) {
+        return ItemQueryUtils.containsValue(treeView.getRoot(), value);
+    }
+
+    private static boolean hasTreeItemAtRow(TreeView<?> treeView,
+                                            Object value,
+                                            int row) {
+        return ItemQueryUtils.rowsOf(treeView, value).contains(row);
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot;
+
+import org.testfx.api.annotation.Unstable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Describes how the mouse is moved from a source point to a target point: the number of
+ * intermediate steps, the position of each step on the path and the delay after each step.
+ *
+ * <ul>
+ * <li>{@link #stepwise()}: one step per pixel (at most 200 steps) with a delay of 1 ms after
+ * each step. This is the default.</li>
+ * <li>{@link #teleport()}: no intermediate steps, the mouse jumps to the target point.</li>
+ * <li>{@link #linear(long)}: steps with a constant speed that take the given duration in total,
+ * regardless of the distance.</li>
+ * <li>{@link #eased(long)}: like {@link #linear(long)}, but the steps accelerate at the start and
+ * decelerate at the end of the path.</li>
+ * </ul>
+ */
+@Unstable(reason = "class was recently added")
+public final class MotionProfile {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final int MIN_STEP_COUNT = 1;
+    private static final int MAX_STEP_COUNT = 200;
+
+    private static final long STEPWISE_DELAY_AFTER_STEP_IN_MILLIS = 1;
+
+    private static final long UNTIMED = -1;
+
+    private static final MotionProfile STEPWISE = new MotionProfile(
+        "stepwise", MAX_STEP_COUNT, UNTIMED, false
+    );
+
+    private static final MotionProfile TELEPORT = new MotionProfile(
+        "teleport", 0, UNTIMED, false
+    );
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private final String name;
+    private final int maxStepCount;
+    private final long durationInMillis;
+    private final boolean eased;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private MotionProfile(String name,
+                          int maxStepCount,
+                          long durationInMillis,
+                          boolean eased) {
+        this.name = name;
+        this.maxStepCount = maxStepCount;
+        this.durationInMillis = durationInMillis;
+        this.eased = eased;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    public static MotionProfile stepwise() {
+        return STEPWISE;
+    }
+
+    public static MotionProfile teleport() {
+        return TELEPORT;
+    }
+
+    public static MotionProfile linear(long durationInMillis) {
+        checkArgument(durationInMillis >= 0, "durationInMillis must not be negative");
+        return new MotionProfile("linear", MAX_STEP_COUNT, durationInMillis, false);
+    }
+
+    public static MotionProfile eased(long durationInMillis) {
+        checkArgument(durationInMillis >= 0, "durationInMillis must not be negative");
+        return new MotionProfile("eased", MAX_STEP_COUNT, durationInMillis, true);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the number of steps before the move to the target point.
+     *
+     * @param distance the distance between source and target point in pixels
+     * @return the number of steps
+     */
+    public int calculateStepCount(double distance) {
+        if (maxStepCount == 0) {
+            return 0;
+        }
+        return (int) Math.max(MIN_STEP_COUNT, Math.min(maxStepCount, distance));
+    }
+
+    /**
+     * Returns the position of the given step on the path, from {@code 0} (source point)
+     * to {@code 1} (target point).
+     *
+     * @param step the step, from {@code 0} to {@code stepCount - 1}
+     * @param stepCount the number of steps
+     * @return the position on the path
+     */
+    public double calculateProgress(int step,
+                                    int stepCount) {
+        double progress = (double) step / (double) stepCount;
+        if (eased) {
+            return progress * progress * (3 - (2 * progress));
+        }
+        return progress;
+    }
+
+    /**
+     * Returns the delay after the given step.
+     *
+     * @param step the step, from {@code 0} to {@code stepCount - 1}
+     * @param stepCount the number of steps
+     * @param elapsedTimeInMillis the time since the first step in milliseconds
+     * @return the delay in milliseconds
+     */
+    public long calculateDelayAfterStep(int step,
+                                        int stepCount,
+                                        long elapsedTimeInMillis) {
+        if (durationInMillis == UNTIMED) {
+            return STEPWISE_DELAY_AFTER_STEP_IN_MILLIS;
+        }
+        long stepTimeInMillis = (durationInMillis * (step + 1)) / stepCount;
+        return Math.max(0, stepTimeInMillis - elapsedTimeInMillis);
+    }
+
+    @Override
+    public String toString() {
+        if (durationInMillis == UNTIMED) {
+            return name;
+        }
+        return name + "(" + durationInMillis + " ms)";
+    }
+
+}
@@ -25,4 +25,25 @@ public interface MoveRobot {
     public void moveBy(double x,
                        double y);
 
+    /**
+     * Returns the motion profile of mouse moves. Implementations that do not support motion
+     * profiles move {@link MotionProfile#stepwise() stepwise}.
+     *
+     * @return the motion profile
+     */
+    public default MotionProfile getMotionProfile() {
+        return MotionProfile.stepwise();
+    }
+
+    /**
+     * Sets the motion profile of mouse moves.
+     *
+     * @param motionProfile the motion profile
+     * @throws UnsupportedOperationException if the implementation does not support motion
+     * profiles
+     */
+    public default void setMotionProfile(MotionProfile motionProfile) {
+        throw new UnsupportedOperationException("setMotionProfile");
+    }
+
 }
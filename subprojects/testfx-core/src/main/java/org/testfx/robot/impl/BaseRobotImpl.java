@@ -30,6 +30,7 @@ import org.testfx.service.adapter.RobotAdapter;
 import org.testfx.service.adapter.impl.AwtRobotAdapter;
 import org.testfx.service.adapter.impl.GlassRobotAdapter;
 import org.testfx.service.adapter.impl.JavafxRobotAdapter;
+import org.testfx.service.adapter.impl.SyntheticRobotAdapter;
 
 @Unstable(reason = "needs more tests")
 public class BaseRobotImpl implements BaseRobot {
@@ -41,34 +42,32 @@ public class BaseRobotImpl implements BaseRobot {
     private static final String PROPERTY_TESTFX_ROBOT = "testfx.robot";
     private static final String PROPERTY_TESTFX_ROBOT_AWT = "awt";
     private static final String PROPERTY_TESTFX_ROBOT_GLASS = "glass";
+    private static final String PROPERTY_TESTFX_ROBOT_SYNTHETIC = "synthetic";
 
     //---------------------------------------------------------------------------------------------
     // PRIVATE FIELDS.
     //---------------------------------------------------------------------------------------------
 
-    private final String robotAdapterName = System.getProperty(
-        PROPERTY_TESTFX_ROBOT, PROPERTY_TESTFX_ROBOT_AWT
-    );
-
     private final RobotAdapter robotAdapter;
     private final JavafxRobotAdapter javafxRobotAdapter;
 
+    // the mouse location of the last move of this robot. it is only used to skip moves to the
+    // current location, which are confirmed with the robot adapter before they are skipped.
+    private volatile Point2D mouseLocation;
+
     //---------------------------------------------------------------------------------------------
     // CONSTRUCTORS.
     //---------------------------------------------------------------------------------------------
 
     public BaseRobotImpl() {
-        if (isAwtRobotAdapter(robotAdapterName)) {
-            robotAdapter = new AwtRobotAdapter();
-        }
-        else if (isGlassRobotAdapter(robotAdapterName)) {
-            robotAdapter = new GlassRobotAdapter();
-        }
-        else {
-            throw new IllegalStateException("Unknown robot adapter " +
-                "'" + PROPERTY_TESTFX_ROBOT + "=" + robotAdapterName + "'");
-        }
-        javafxRobotAdapter = new JavafxRobotAdapter();
+        this(createRobotAdapter(System.getProperty(
+            PROPERTY_TESTFX_ROBOT, PROPERTY_TESTFX_ROBOT_AWT
+        )));
+    }
+
+    public BaseRobotImpl(RobotAdapter robotAdapter) {
+        this.robotAdapter = robotAdapter;
+        this.javafxRobotAdapter = new JavafxRobotAdapter();
     }
 
     //---------------------------------------------------------------------------------------------
@@ -98,12 +97,18 @@ public class BaseRobotImpl implements BaseRobot {
 
     @Override
     public Point2D retrieveMouse() {
+        // the cursor might have been moved by something else than this robot since its last move.
         return robotAdapter.getMouseLocation();
     }
 
     @Override
     public void moveMouse(Point2D point) {
+        // the cursor might have been moved by something else than a robot since the last move.
+        if (point.equals(mouseLocation) && point.equals(robotAdapter.getMouseLocation())) {
+            return;
+        }
         robotAdapter.mouseMove(point);
+        mouseLocation = point;
     }
 
     @Override
@@ -132,15 +137,35 @@ public class BaseRobotImpl implements BaseRobot {
     }
 
     //---------------------------------------------------------------------------------------------
-    // PRIVATE METHODS.
+    // PRIVATE STATIC METHODS.
     //---------------------------------------------------------------------------------------------
 
-    private boolean isAwtRobotAdapter(String robotAdapterName) {
+    private static RobotAdapter createRobotAdapter(String robotAdapterName) {
+        if (isAwtRobotAdapter(robotAdapterName)) {
+            return new AwtRobotAdapter();
+        }
+        else if (isGlassRobotAdapter(robotAdapterName)) {
+            return new GlassRobotAdapter();
+        }
+        else if (isSyntheticRobotAdapter(robotAdapterName)) {
+            return new SyntheticRobotAdapter();
+        }
+        else {
+            throw new IllegalStateException("Unknown robot adapter " +
+                "'" + PROPERTY_TESTFX_ROBOT + "=" + robotAdapterName + "'");
+        }
+    }
+
+    private static boolean isAwtRobotAdapter(String robotAdapterName) {
         return Objects.equals(robotAdapterName, PROPERTY_TESTFX_ROBOT_AWT);
     }
 
-    private boolean isGlassRobotAdapter(String robotAdapterName) {
+    private static boolean isGlassRobotAdapter(String robotAdapterName) {
         return Objects.equals(robotAdapterName, PROPERTY_TESTFX_ROBOT_GLASS);
     }
 
+    private static boolean isSyntheticRobotAdapter(String robotAdapterName) {
+        return Objects.equals(robotAdapterName, PROPERTY_TESTFX_ROBOT_SYNTHETIC);
+    }
+
 }
@@ -16,19 +16,19 @@
  */
 package org.testfx.robot.impl;
 
-import java.util.List;
+import java.util.Objects;
 import javafx.geometry.Point2D;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import org.testfx.api.annotation.Unstable;
 import org.testfx.robot.BaseRobot;
+import org.testfx.robot.MotionProfile;
 import org.testfx.robot.MouseRobot;
 import org.testfx.robot.MoveRobot;
 import org.testfx.robot.SleepRobot;
 import org.testfx.service.query.PointQuery;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 @Unstable
 public class MoveRobotImpl implements MoveRobot {
 
@@ -36,10 +36,15 @@ public class MoveRobotImpl implements MoveRobot {
     // CONSTANTS.
     //---------------------------------------------------------------------------------------------
 
-    private static final long SLEEP_AFTER_MOVEMENT_STEP_IN_MILLIS = 1;
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION = "testfx.robot.motion";
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION_STEPWISE = "stepwise";
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION_TELEPORT = "teleport";
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION_LINEAR = "linear";
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION_EASED = "eased";
 
-    private static final long MIN_POINT_OFFSET_COUNT = 1;
-    private static final long MAX_POINT_OFFSET_COUNT = 200;
+    private static final String PROPERTY_TESTFX_ROBOT_MOTION_DURATION =
+        "testfx.robot.motion.duration";
+    private static final long PROPERTY_TESTFX_ROBOT_MOTION_DURATION_DEFAULT = 100;
 
     //---------------------------------------------------------------------------------------------
     // PRIVATE FIELDS.
@@ -49,6 +54,12 @@ public class MoveRobotImpl implements MoveRobot {
     private MouseRobot mouseRobot;
     private SleepRobot sleepRobot;
 
+    private MotionProfile motionProfile = createMotionProfile(
+        System.getProperty(PROPERTY_TESTFX_ROBOT_MOTION, PROPERTY_TESTFX_ROBOT_MOTION_STEPWISE),
+        Long.getLong(PROPERTY_TESTFX_ROBOT_MOTION_DURATION,
+            PROPERTY_TESTFX_ROBOT_MOTION_DURATION_DEFAULT)
+    );
+
     //---------------------------------------------------------------------------------------------
     // CONSTRUCTORS.
     //---------------------------------------------------------------------------------------------
@@ -70,7 +81,7 @@ public class MoveRobotImpl implements MoveRobot {
         // Since moving takes time, only do it if we're not already at the desired point.
         Point2D sourcePoint = retrieveMouseLocation();
         Point2D targetPoint = pointQuery.query();
-        if (sourcePoint != targetPoint) {
+        if (!sourcePoint.equals(targetPoint)) {
             moveMouseStepwiseBetween(sourcePoint, targetPoint);
         }
 
@@ -87,6 +98,16 @@ public class MoveRobotImpl implements MoveRobot {
         moveMouseStepwiseBetween(sourcePoint, targetPoint);
     }
 
+    @Override
+    public MotionProfile getMotionProfile() {
+        return motionProfile;
+    }
+
+    @Override
+    public void setMotionProfile(MotionProfile motionProfile) {
+        this.motionProfile = motionProfile;
+    }
+
     //---------------------------------------------------------------------------------------------
     // PRIVATE METHODS.
     //---------------------------------------------------------------------------------------------
@@ -101,32 +122,24 @@ public class MoveRobotImpl implements MoveRobot {
 
     private void moveMouseStepwiseBetween(Point2D sourcePoint,
                                           Point2D targetPoint) {
+        MotionProfile motionProfile = this.motionProfile;
         double pointDistance = calculateDistanceBetween(sourcePoint, targetPoint);
-        int pointOffsetCount = (int) limitValueBetween(
-            pointDistance, MIN_POINT_OFFSET_COUNT, MAX_POINT_OFFSET_COUNT
-        );
-        List<Point2D> points = interpolatePointsBetween(
-            sourcePoint, targetPoint, pointOffsetCount
-        );
-        for (Point2D point : Iterables.limit(points, points.size() - 1)) {
-            mouseRobot.moveNoWait(point);
-            sleepRobot.sleep(SLEEP_AFTER_MOVEMENT_STEP_IN_MILLIS);
+        int stepCount = motionProfile.calculateStepCount(pointDistance);
+        long startTimeInMillis = System.currentTimeMillis();
+        for (int step = 0; step < stepCount; step++) {
+            double factor = motionProfile.calculateProgress(step, stepCount);
+            mouseRobot.moveNoWait(interpolatePointBetween(sourcePoint, targetPoint, factor));
+            long elapsedTimeInMillis = System.currentTimeMillis() - startTimeInMillis;
+            long delayInMillis = motionProfile.calculateDelayAfterStep(
+                step, stepCount, elapsedTimeInMillis
+            );
+            if (delayInMillis > 0) {
+                sleepRobot.sleep(delayInMillis);
+            }
         }
         mouseRobot.move(targetPoint);
     }
 
-    private List<Point2D> interpolatePointsBetween(Point2D sourcePoint,
-                                                   Point2D targetPoint,
-                                                   int pointOffsetCount) {
-        List<Point2D> points = Lists.newArrayList();
-        for (int pointOffset = 0; pointOffset <= pointOffsetCount; pointOffset++) {
-            double factor = (double) pointOffset / (double) pointOffsetCount;
-            Point2D point = interpolatePointBetween(sourcePoint, targetPoint, factor);
-            points.add(point);
-        }
-        return ImmutableList.copyOf(points);
-    }
-
     private double calculateDistanceBetween(Point2D point0,
                                             Point2D point1) {
         double x = point0.getX() - point1.getX();
@@ -134,12 +147,6 @@ public class MoveRobotImpl implements MoveRobot {
         return Math.sqrt((x * x) + (y * y));
     }
 
-    private double limitValueBetween(double value,
-                                     double minValue,
-                                     double maxValue) {
-        return Math.max(minValue, Math.min(maxValue, value));
-    }
-
     private Point2D interpolatePointBetween(Point2D point0,
                                             Point2D point1,
                                             double factor) {
@@ -154,4 +161,24 @@ public class MoveRobotImpl implements MoveRobot {
         return value0 + ((value1 - value0) * factor);
     }
 
+    private MotionProfile createMotionProfile(String motionProfileName,
+                                              long durationInMillis) {
+        checkArgument(durationInMillis >= 0, "Negative motion duration " +
+            "'" + PROPERTY_TESTFX_ROBOT_MOTION_DURATION + "=" + durationInMillis + "'");
+        if (Objects.equals(motionProfileName, PROPERTY_TESTFX_ROBOT_MOTION_STEPWISE)) {
+            return MotionProfile.stepwise();
+        }
+        else if (Objects.equals(motionProfileName, PROPERTY_TESTFX_ROBOT_MOTION_TELEPORT)) {
+            return MotionProfile.teleport();
+        }
+        else if (Objects.equals(motionProfileName, PROPERTY_TESTFX_ROBOT_MOTION_LINEAR)) {
+            return MotionProfile.linear(durationInMillis);
+        }
+        else if (Objects.equals(motionProfileName, PROPERTY_TESTFX_ROBOT_MOTION_EASED)) {
+            return MotionProfile.eased(durationInMillis);
+        }
+        throw new IllegalStateException("Unknown motion profile " +
+            "'" + PROPERTY_TESTFX_ROBOT_MOTION + "=" + motionProfileName + "'");
+    }
+
 }
@@ -20,6 +20,9 @@ import java.util.concurrent.TimeUnit;
 
 import org.testfx.api.annotation.Unstable;
 import org.testfx.robot.SleepRobot;
+import org.testfx.util.SleepClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @Unstable(reason = "needs more tests")
 public class SleepRobotImpl implements SleepRobot {
@@ -30,17 +33,17 @@ public class SleepRobotImpl implements SleepRobot {
 
     @Override
     public void sleep(long milliseconds) {
+        sleep(milliseconds, MILLISECONDS);
+    }
+
+    @Override
+    public void sleep(long duration, TimeUnit timeUnit) {
         try {
-            Thread.sleep(milliseconds);
+            SleepClock.current().sleep(duration, timeUnit);
         }
         catch (InterruptedException exception) {
             throw new RuntimeException(exception);
         }
     }
 
-    @Override
-    public void sleep(long duration, TimeUnit timeUnit) {
-        sleep(timeUnit.toMillis(duration));
-    }
-
 }
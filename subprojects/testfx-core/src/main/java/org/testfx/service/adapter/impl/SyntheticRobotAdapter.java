@@ -0,0 +1,481 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.stage.Window;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import org.testfx.api.annotation.Unstable;
+import org.testfx.service.adapter.RobotAdapter;
+
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
+
+/**
+ * A robot adapter that fires synthetic input events directly into the scenes of the windows,
+ * without moving the cursor of the operating system or waiting for its event queue.
+ *
+ * <p>Mouse and key events are processed by the {@link Scene} like events from the operating
+ * system, i.e. the scene picks the target node, tracks entered and exited nodes, counts clicks,
+ * fires {@link MouseEvent#MOUSE_CLICKED} and detects drags. Mouse events go to the scene of the
+ * topmost window under the mouse location, or to the scene of the press while a button is
+ * pressed. Key events go to the scene of the focused window, or to the scene under the mouse
+ * location if no window is focused. Captures are taken from snapshots of the scenes and do not
+ * contain window decorations.</p>
+ *
+ * <p>Key presses type characters as on a US keyboard layout, i.e. letters, digits, punctuation,
+ * the keypad and space, with and without shift. Each adapter keeps its own mouse location,
+ * pressed buttons and pressed modifier keys.</p>
+ *
+ * <p>The adapter is selected with the system property {@code testfx.robot=synthetic}.</p>
+ */
+@Unstable(reason = "class was recently added")
+public class SyntheticRobotAdapter implements RobotAdapter<SyntheticRobotAdapter> {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    public static final int RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+
+    private static final double SCROLL_DELTA_PER_WHEEL_AMOUNT = 40.0;
+
+    private static final double SCROLL_TEXT_DELTA_PER_WHEEL_AMOUNT = 3.0;
+
+    // the characters typed by the keys other than letters on a US keyboard layout, without and
+    // with shift.
+    private static final Map<KeyCode, String> TYPED_CHARACTERS = createTypedCharacters(
+        "DIGIT0 0 DIGIT1 1 DIGIT2 2 DIGIT3 3 DIGIT4 4 DIGIT5 5 DIGIT6 6 DIGIT7 7 DIGIT8 8 " +
+        "DIGIT9 9 MINUS - EQUALS = OPEN_BRACKET [ CLOSE_BRACKET ] BACK_SLASH \\ SEMICOLON ; " +
+        "QUOTE ' BACK_QUOTE ` COMMA , PERIOD . SLASH / NUMPAD0 0 NUMPAD1 1 NUMPAD2 2 " +
+        "NUMPAD3 3 NUMPAD4 4 NUMPAD5 5 NUMPAD6 6 NUMPAD7 7 NUMPAD8 8 NUMPAD9 9 ADD + " +
+        "SUBTRACT - MULTIPLY * DIVIDE / DECIMAL ."
+    );
+
+    private static final Map<KeyCode, String> SHIFTED_TYPED_CHARACTERS = createTypedCharacters(
+        "DIGIT0 ) DIGIT1 ! DIGIT2 @ DIGIT3 # DIGIT4 $ DIGIT5 % DIGIT6 ^ DIGIT7 & DIGIT8 * " +
+        "DIGIT9 ( MINUS _ EQUALS + OPEN_BRACKET { CLOSE_BRACKET } BACK_SLASH | SEMICOLON : " +
+        "QUOTE \" BACK_QUOTE ~ COMMA < PERIOD > SLASH ?"
+    );
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private volatile boolean robotCreated = false;
+
+    // the mouse and keyboard state of this adapter. the following fields except the mouse
+    // location are only accessed on the JavaFX Application Thread.
+
+    private volatile Point2D mouseLocation = Point2D.ZERO;
+
+    private final Set<MouseButton> pressedButtons = EnumSet.noneOf(MouseButton.class);
+
+    private final Set<KeyCode> pressedModifierKeys = EnumSet.noneOf(KeyCode.class);
+
+    private Scene mouseScene;
+
+    private PickResult mousePickResult;
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    // ROBOT.
+
+    @Override
+    public void robotCreate() {
+        robotCreated = true;
+    }
+
+    @Override
+    public void robotDestroy() {
+        robotCreated = false;
+    }
+
+    @Override
+    public SyntheticRobotAdapter getRobotInstance() {
+        return robotCreated ? this : null;
+    }
+
+    // KEY.
+
+    @Override
+    public void keyPress(KeyCode key) {
+        asyncFx(() -> {
+            if (key.isModifierKey()) {
+                pressedModifierKeys.add(key);
+            }
+            Scene scene = fetchKeyScene();
+            if (scene != null) {
+                processKeyEvent(scene, KeyEvent.KEY_PRESSED, key);
+                String character = convertToTypedCharacter(key);
+                if (character != null) {
+                    processKeyEvent(scene, KeyEvent.KEY_TYPED, character);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void keyRelease(KeyCode key) {
+        asyncFx(() -> {
+            pressedModifierKeys.remove(key);
+            Scene scene = fetchKeyScene();
+            if (scene != null) {
+                processKeyEvent(scene, KeyEvent.KEY_RELEASED, key);
+            }
+        });
+    }
+
+    // MOUSE.
+
+    @Override
+    public Point2D getMouseLocation() {
+        return mouseLocation;
+    }
+
+    @Override
+    public void mouseMove(Point2D location) {
+        mouseLocation = location;
+        asyncFx(() -> {
+            // while a button is pressed the events go to the scene of the press.
+            Scene scene = (pressedButtons.isEmpty() || !hasWindow(mouseScene)) ?
+                fetchSceneAt(location) : mouseScene;
+            if (scene != mouseScene) {
+                // a scene that was replaced on its stage can not be exited anymore.
+                if (hasWindow(mouseScene)) {
+                    processMouseEvent(mouseScene, MouseEvent.MOUSE_EXITED, location,
+                        MouseButton.NONE);
+                }
+                mouseScene = scene;
+                if (mouseScene != null) {
+                    processMouseEvent(mouseScene, MouseEvent.MOUSE_ENTERED, location,
+                        MouseButton.NONE);
+                }
+            }
+            if (hasWindow(mouseScene)) {
+                EventType<MouseEvent> eventType = pressedButtons.isEmpty() ?
+                    MouseEvent.MOUSE_MOVED : MouseEvent.MOUSE_DRAGGED;
+                processMouseEvent(mouseScene, eventType, location, MouseButton.NONE);
+            }
+        });
+    }
+
+    @Override
+    public void mousePress(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            if (pressedButtons.isEmpty()) {
+                mouseScene = fetchSceneAt(location);
+            }
+            pressedButtons.add(button);
+            if (hasWindow(mouseScene)) {
+                processMouseEvent(mouseScene, MouseEvent.MOUSE_PRESSED, location, button);
+                if (button == MouseButton.SECONDARY) {
+                    fireContextMenuEvent(mouseScene, location);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void mouseRelease(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            if (!pressedButtons.remove(button)) {
+                return;
+            }
+            if (hasWindow(mouseScene)) {
+                processMouseEvent(mouseScene, MouseEvent.MOUSE_RELEASED, location, button);
+            }
+        });
+    }
+
+    @Override
+    public void mouseWheel(int wheelAmount) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            if (hasWindow(mouseScene)) {
+                fireScrollEvent(mouseScene, location, wheelAmount);
+            }
+        });
+    }
+
+    // CAPTURE.
+
+    @Override
+    public Color getCapturePixelColor(Point2D location) {
+        Rectangle2D region = new Rectangle2D(location.getX(), location.getY(), 1, 1);
+        return getCaptureRegion(region).getPixelReader().getColor(0, 0);
+    }
+
+    @Override
+    public Image getCaptureRegion(Rectangle2D region) {
+        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+            WritableImage image = new WritableImage(
+                (int) region.getWidth(), (int) region.getHeight()
+            );
+            Point2D center = new Point2D(
+                region.getMinX() + region.getWidth() / 2, region.getMinY() + region.getHeight() / 2
+            );
+            Scene scene = fetchSceneAt(center);
+            if (scene != null) {
+                writeSceneSnapshotToImage(scene, region, image);
+            }
+            return image;
+        });
+    }
+
+    // TIMER.
+
+    @Override
+    public void timerWaitForIdle() {
+        waitForFxEvents();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @SuppressWarnings("deprecation")
+    private List<Window> fetchWindowsInQueue() {
+        // the most recently shown windows are considered topmost.
+        Iterator<Window> windows = Window.impl_getWindows();
+        return Lists.reverse(Lists.newArrayList(windows));
+    }
+
+    private Scene fetchSceneAt(Point2D location) {
+        for (Window window : fetchWindowsInQueue()) {
+            if (window.isShowing() && window.getScene() != null &&
+                    convertToWindowBounds(window).contains(location)) {
+                return window.getScene();
+            }
+        }
+        return null;
+    }
+
+    private Scene fetchKeyScene() {
+        for (Window window : fetchWindowsInQueue()) {
+            if (window.isShowing() && window.isFocused() && window.getScene() != null) {
+                return window.getScene();
+            }
+        }
+        return fetchSceneAt(mouseLocation);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void processKeyEvent(Scene scene,
+                                 EventType<KeyEvent> eventType,
+                                 KeyCode key) {
+        scene.impl_processKeyEvent(new KeyEvent(
+            eventType, KeyEvent.CHAR_UNDEFINED, key.impl_getChar(), key,
+            isShiftDown(), isControlDown(), isAltDown(), isMetaDown()
+        ));
+    }
+
+    @SuppressWarnings("deprecation")
+    private void processKeyEvent(Scene scene,
+                                 EventType<KeyEvent> eventType,
+                                 String character) {
+        // KeyEvent: "For key typed events, {@code code} is always {@code KeyCode.UNDEFINED}."
+        scene.impl_processKeyEvent(new KeyEvent(
+            eventType, character, "", KeyCode.UNDEFINED,
+            isShiftDown(), isControlDown(), isAltDown(), isMetaDown()
+        ));
+    }
+
+    @SuppressWarnings("deprecation")
+    private void processMouseEvent(Scene scene,
+                                   EventType<MouseEvent> eventType,
+                                   Point2D location,
+                                   MouseButton button) {
+        Point2D sceneLocation = convertToSceneLocation(scene, location);
+        MouseEvent mouseEvent = new MouseEvent(
+            eventType, sceneLocation.getX(), sceneLocation.getY(),
+            location.getX(), location.getY(), button, 1,
+            isShiftDown(), isControlDown(), isAltDown(), isMetaDown(),
+            pressedButtons.contains(MouseButton.PRIMARY),
+            pressedButtons.contains(MouseButton.MIDDLE),
+            pressedButtons.contains(MouseButton.SECONDARY),
+            false, button == MouseButton.SECONDARY && eventType == MouseEvent.MOUSE_PRESSED,
+            false, null
+        );
+        // the scene picks the target node, counts clicks and detects drags.
+        EventHandler<MouseEvent> pickResultRecorder = event -> {
+            if (event.getEventType() == eventType) {
+                mousePickResult = event.getPickResult();
+            }
+        };
+        scene.addEventFilter(MouseEvent.ANY, pickResultRecorder);
+        try {
+            scene.impl_processMouseEvent(mouseEvent);
+        }
+        finally {
+            scene.removeEventFilter(MouseEvent.ANY, pickResultRecorder);
+        }
+    }
+
+    private void fireContextMenuEvent(Scene scene,
+                                      Point2D location) {
+        Point2D sceneLocation = convertToSceneLocation(scene, location);
+        ContextMenuEvent contextMenuEvent = new ContextMenuEvent(
+            ContextMenuEvent.CONTEXT_MENU_REQUESTED, sceneLocation.getX(), sceneLocation.getY(),
+            location.getX(), location.getY(), false, mousePickResult
+        );
+        Event.fireEvent(fetchPickedTarget(scene), contextMenuEvent);
+    }
+
+    private void fireScrollEvent(Scene scene,
+                                 Point2D location,
+                                 int wheelAmount) {
+        // a positive wheel amount scrolls down, i.e. has negative deltas.
+        Point2D sceneLocation = convertToSceneLocation(scene, location);
+        double deltaY = -wheelAmount * SCROLL_DELTA_PER_WHEEL_AMOUNT;
+        double textDeltaY = -wheelAmount * SCROLL_TEXT_DELTA_PER_WHEEL_AMOUNT;
+        ScrollEvent scrollEvent = new ScrollEvent(
+            ScrollEvent.SCROLL, sceneLocation.getX(), sceneLocation.getY(),
+            location.getX(), location.getY(),
+            isShiftDown(), isControlDown(), isAltDown(), isMetaDown(), false, false,
+            0, deltaY, 0, deltaY,
+            ScrollEvent.HorizontalTextScrollUnits.NONE, 0,
+            ScrollEvent.VerticalTextScrollUnits.LINES, textDeltaY, 0, mousePickResult
+        );
+        Event.fireEvent(fetchPickedTarget(scene), scrollEvent);
+    }
+
+    private EventTarget fetchPickedTarget(Scene scene) {
+        Node pickedNode = (mousePickResult != null) ? mousePickResult.getIntersectedNode() : null;
+        if (pickedNode != null && pickedNode.getScene() == scene) {
+            return pickedNode;
+        }
+        return scene;
+    }
+
+    private void writeSceneSnapshotToImage(Scene scene,
+                                           Rectangle2D region,
+                                           WritableImage image) {
+        WritableImage snapshot = scene.snapshot(null);
+        Point2D sceneLocation = convertToSceneLocation(scene,
+            new Point2D(region.getMinX(), region.getMinY()));
+        int minX = Math.max(0, (int) -sceneLocation.getX());
+        int minY = Math.max(0, (int) -sceneLocation.getY());
+        int maxX = Math.min((int) image.getWidth(),
+            (int) (snapshot.getWidth() - sceneLocation.getX()));
+        int maxY = Math.min((int) image.getHeight(),
+            (int) (snapshot.getHeight() - sceneLocation.getY()));
+        if (minX < maxX && minY < maxY) {
+            image.getPixelWriter().setPixels(minX, minY, maxX - minX, maxY - minY,
+                snapshot.getPixelReader(),
+                (int) sceneLocation.getX() + minX, (int) sceneLocation.getY() + minY);
+        }
+    }
+
+    private Rectangle2D convertToWindowBounds(Window window) {
+        return new Rectangle2D(window.getX(), window.getY(), window.getWidth(), window.getHeight());
+    }
+
+    private boolean hasWindow(Scene scene) {
+        return scene != null && scene.getWindow() != null;
+    }
+
+    private Point2D convertToSceneLocation(Scene scene,
+                                           Point2D location) {
+        Window window = scene.getWindow();
+        return new Point2D(
+            location.getX() - window.getX() - scene.getX(),
+            location.getY() - window.getY() - scene.getY()
+        );
+    }
+
+    private String convertToTypedCharacter(KeyCode key) {
+        if (isControlDown() || isAltDown() || isMetaDown()) {
+            return null;
+        }
+        if (key.isLetterKey()) {
+            String character = key.getName().toLowerCase();
+            return isShiftDown() ? character.toUpperCase() : character;
+        }
+        if (key == KeyCode.SPACE) {
+            return " ";
+        }
+        if (isShiftDown() && !key.isKeypadKey()) {
+            return SHIFTED_TYPED_CHARACTERS.get(key);
+        }
+        return TYPED_CHARACTERS.get(key);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static Map<KeyCode, String> createTypedCharacters(String keysAndCharacters) {
+        Map<KeyCode, String> typedCharacters = new EnumMap<>(KeyCode.class);
+        Iterator<String> tokens = Splitter.on(' ').split(keysAndCharacters).iterator();
+        while (tokens.hasNext()) {
+            typedCharacters.put(KeyCode.valueOf(tokens.next()), tokens.next());
+        }
+        return Collections.unmodifiableMap(typedCharacters);
+    }
+
+    private boolean isShiftDown() {
+        return pressedModifierKeys.contains(KeyCode.SHIFT);
+    }
+
+    private boolean isControlDown() {
+        return pressedModifierKeys.contains(KeyCode.CONTROL);
+    }
+
+    private boolean isAltDown() {
+        return pressedModifierKeys.contains(KeyCode.ALT) ||
+            pressedModifierKeys.contains(KeyCode.ALT_GRAPH);
+    }
+
+    private boolean isMetaDown() {
+        return pressedModifierKeys.contains(KeyCode.META) ||
+            pressedModifierKeys.contains(KeyCode.WINDOWS) ||
+            pressedModifierKeys.contains(KeyCode.COMMAND);
+    }
+
+}
@@ -17,11 +17,15 @@
 package org.testfx.service.finder;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.stage.Window;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableMap;
 import org.hamcrest.Matcher;
 import org.testfx.service.query.NodeQuery;
 
@@ -35,6 +39,45 @@ public interface NodeFinder {
     <T> NodeQuery lookup(Matcher<T> matcher);
     <T extends Node> NodeQuery lookup(Predicate<T> predicate);
 
+    default <T extends Node> NodeQuery lookup(Class<T> type, Predicate<? super T> predicate) {
+        return fromAll().lookup(type, predicate);
+    }
+
+    default <T extends Node> NodeQuery lookup(Class<T> type, Matcher<? super T> matcher) {
+        return fromAll().lookup(type, matcher);
+    }
+
+    /**
+     * Looks up the nodes for each of the given string queries (see {@link #lookup(String)}). The
+     * default implementation performs one lookup per query.
+     *
+     * @param queries the queries
+     * @return the matching nodes by query, in the order of the given queries
+     */
+    default Map<String, Set<Node>> lookupBatch(String... queries) {
+        Map<String, Set<Node>> resultNodes = new LinkedHashMap<>();
+        for (String query : queries) {
+            resultNodes.put(query, lookup(query).queryAll());
+        }
+        return ImmutableMap.copyOf(resultNodes);
+    }
+
+    /**
+     * Looks up the nodes that match each of the given predicates. The default implementation
+     * performs one lookup per predicate.
+     *
+     * @param predicates the predicates by key
+     * @param <K> the type of the keys
+     * @return the matching nodes by key, in the order of the given predicates
+     */
+    default <K> Map<K, Set<Node>> lookupBatch(Map<K, Predicate<Node>> predicates) {
+        Map<K, Set<Node>> resultNodes = new LinkedHashMap<>();
+        for (Map.Entry<K, Predicate<Node>> entry : predicates.entrySet()) {
+            resultNodes.put(entry.getKey(), fromAll().lookup(entry.getValue()).queryAll());
+        }
+        return ImmutableMap.copyOf(resultNodes);
+    }
+
     NodeQuery fromAll();
     NodeQuery from(Node... parentNodes);
     NodeQuery from(Collection<Node> parentNodes);
@@ -17,7 +17,9 @@
 package org.testfx.service.finder.impl;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -32,6 +34,9 @@ import org.testfx.service.query.NodeQuery;
 import org.testfx.service.query.NodeQueryFactory;
 import org.testfx.service.query.impl.NodeQueryFactoryImpl;
 import org.testfx.util.NodeQueryUtils;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.testfx.service.adapter.impl.GlassRobotAdapter.RETRIEVAL_TIMEOUT_IN_MILLIS;
 
 @Unstable
 public class NodeFinderImpl implements NodeFinder {
@@ -72,6 +77,50 @@ public class NodeFinderImpl implements NodeFinder {
         return fromAll().lookup(predicate);
     }
 
+    @Override
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Predicate<? super T> predicate) {
+        return fromAll().lookup(type, predicate);
+    }
+
+    @Override
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Matcher<? super T> matcher) {
+        return fromAll().lookup(type, matcher);
+    }
+
+    /**
+     * Looks up the nodes for each of the given string queries (see {@link #lookup(String)}) in
+     * the target windows, with a single walk of their scene graphs on the JavaFX Application
+     * Thread.
+     *
+     * @param queries the queries
+     * @return the matching nodes by query, in the order of the given queries
+     */
+    @Override
+    public Map<String, Set<Node>> lookupBatch(String... queries) {
+        Map<String, Predicate<Node>> predicates = new LinkedHashMap<>();
+        for (String query : queries) {
+            predicates.put(query, NodeQueryUtils.matchesQuery(query));
+        }
+        return WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+            () -> NodeQueryUtils.lookupBatch(rootsOfWindows(), predicates));
+    }
+
+    /**
+     * Looks up the nodes that match each of the given predicates in the target windows, with a
+     * single walk of their scene graphs on the JavaFX Application Thread.
+     *
+     * @param predicates the predicates by key
+     * @param <K> the type of the keys
+     * @return the matching nodes by key, in the order of the given predicates
+     */
+    @Override
+    public <K> Map<K, Set<Node>> lookupBatch(Map<K, Predicate<Node>> predicates) {
+        return WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+            () -> NodeQueryUtils.lookupBatch(rootsOfWindows(), predicates));
+    }
+
     @Override
     public NodeQuery fromAll() {
         return nodeQueryFactory.build().from(rootsOfWindows());
@@ -16,8 +16,12 @@
  */
 package org.testfx.service.finder.impl;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.stage.PopupWindow;
@@ -26,20 +30,43 @@ import javafx.stage.Window;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.testfx.service.finder.WindowFinder;
 
 public class WindowFinderImpl implements WindowFinder {
 
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final int STAGE_TITLE_PATTERN_CACHE_MAXIMUM_SIZE = 64;
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final LoadingCache<String, Pattern> stageTitlePatternCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(STAGE_TITLE_PATTERN_CACHE_MAXIMUM_SIZE)
+            .build(CacheLoader.from(Pattern::compile));
+
     //---------------------------------------------------------------------------------------------
     // PRIVATE FIELDS.
     //---------------------------------------------------------------------------------------------
 
     private Window lastTargetWindow;
 
+    private final WindowRegistry windowRegistry = new WindowRegistry();
+
     //---------------------------------------------------------------------------------------------
     // METHODS.
     //---------------------------------------------------------------------------------------------
@@ -115,7 +142,7 @@ public class WindowFinderImpl implements WindowFinder {
 
     @Override
     public Window window(Pattern stageTitlePattern) {
-        return window(hasStageTitlePredicate(stageTitlePattern.toString()));
+        return window(hasStageTitlePredicate(stageTitlePattern));
     }
 
     @Override
@@ -132,31 +159,71 @@ public class WindowFinderImpl implements WindowFinder {
     // PRIVATE METHODS.
     //---------------------------------------------------------------------------------------------
 
-    @SuppressWarnings("deprecation")
     private List<Window> fetchWindowsInQueue() {
-        List<Window> windows = Lists.newArrayList(Window.impl_getWindows());
-        return ImmutableList.copyOf(Lists.reverse(windows));
+        return windowRegistry.fetchWindowsInQueue();
     }
 
     private List<Window> fetchWindowsByProximityTo(Window targetWindow) {
-        List<Window> windows = fetchWindowsInQueue();
-        List<Window> windowsByProximity = orderWindowsByProximityTo(targetWindow, windows);
-        return windowsByProximity;
+        return windowRegistry.fetchWindowsByProximityTo(targetWindow);
+    }
+
+    private Predicate<Window> hasStageTitlePredicate(String stageTitleRegex) {
+        if (isLiteral(stageTitleRegex)) {
+            return window -> window instanceof Stage &&
+                stageTitleRegex.equals(((Stage) window).getTitle());
+        }
+        return hasStageTitlePredicate(compileStageTitlePattern(stageTitleRegex));
+    }
+
+    private Predicate<Window> hasStageTitlePredicate(Pattern stageTitlePattern) {
+        return window -> window instanceof Stage &&
+            hasStageTitle((Stage) window, stageTitlePattern);
+    }
+
+    private boolean hasStageTitle(Stage stage,
+                                  Pattern stageTitlePattern) {
+        return stage.getTitle() != null && stageTitlePattern.matcher(stage.getTitle()).matches();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static boolean isLiteral(String regex) {
+        for (int index = 0; index < regex.length(); index++) {
+            if (REGEX_METACHARACTERS.indexOf(regex.charAt(index)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Pattern compileStageTitlePattern(String stageTitleRegex) {
+        try {
+            return stageTitlePatternCache.getUnchecked(stageTitleRegex);
+        }
+        catch (UncheckedExecutionException exception) {
+            if (exception.getCause() instanceof PatternSyntaxException) {
+                throw (PatternSyntaxException) exception.getCause();
+            }
+            throw exception;
+        }
     }
 
-    private List<Window> orderWindowsByProximityTo(Window targetWindow,
-                                                   List<Window> windows) {
+    private static List<Window> orderWindowsByProximityTo(Window targetWindow,
+                                                          List<Window> windows) {
         return Ordering.natural()
             .onResultOf(calculateWindowProximityFunction(targetWindow))
             .immutableSortedCopy(windows);
     }
 
-    private Function<Window, Integer> calculateWindowProximityFunction(Window targetWindow) {
+    private static Function<Window, Integer> calculateWindowProximityFunction(
+            Window targetWindow) {
         return window -> calculateWindowProximityTo(targetWindow, window);
     }
 
-    private int calculateWindowProximityTo(Window targetWindow,
-                                           Window window) {
+    private static int calculateWindowProximityTo(Window targetWindow,
+                                                  Window window) {
         if (window == targetWindow) {
             return 0;
         }
@@ -166,8 +233,8 @@ public class WindowFinderImpl implements WindowFinder {
         return 2;
     }
 
-    private boolean isOwnerOf(Window window,
-                              Window targetWindow) {
+    private static boolean isOwnerOf(Window window,
+                                     Window targetWindow) {
         Window ownerWindow = retrieveOwnerOf(window);
         if (ownerWindow == targetWindow) {
             return true;
@@ -175,7 +242,7 @@ public class WindowFinderImpl implements WindowFinder {
         return ownerWindow != null && isOwnerOf(ownerWindow, targetWindow);
     }
 
-    private Window retrieveOwnerOf(Window window) {
+    private static Window retrieveOwnerOf(Window window) {
         if (window instanceof Stage) {
             return ((Stage) window).getOwner();
         }
@@ -185,14 +252,71 @@ public class WindowFinderImpl implements WindowFinder {
         return null;
     }
 
-    private Predicate<Window> hasStageTitlePredicate(String stageTitleRegex) {
-        return window -> window instanceof Stage &&
-            hasStageTitle((Stage) window, stageTitleRegex);
-    }
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Keeps the windows in queue and their order by proximity to target windows between calls.
+     *
+     * <p>The window queue of JavaFX 8 is not observable, so the registry compares it (and the
+     * owners of its windows) by identity with the windows it knows on each call. As long as they
+     * are the same, the list of windows and the orders by proximity computed for earlier target
+     * windows are reused.</p>
+     */
+    private static class WindowRegistry {
+
+        private List<Window> windowsInQueue = ImmutableList.of();
+        private Window[] ownerWindows = new Window[0];
+        private final Map<Window, List<Window>> windowsByProximity = new HashMap<>();
+
+        synchronized List<Window> fetchWindowsInQueue() {
+            refresh();
+            return windowsInQueue;
+        }
+
+        synchronized List<Window> fetchWindowsByProximityTo(Window targetWindow) {
+            refresh();
+            List<Window> windows = windowsByProximity.get(targetWindow);
+            if (windows == null) {
+                windows = orderWindowsByProximityTo(targetWindow, windowsInQueue);
+                windowsByProximity.put(targetWindow, windows);
+            }
+            return windows;
+        }
+
+        private void refresh() {
+            if (!isWindowQueueUnchanged()) {
+                List<Window> windows = Lists.newArrayList(impl_getWindows());
+                windowsInQueue = ImmutableList.copyOf(Lists.reverse(windows));
+                ownerWindows = new Window[windowsInQueue.size()];
+                for (int index = 0; index < ownerWindows.length; index++) {
+                    ownerWindows[index] = retrieveOwnerOf(windowsInQueue.get(index));
+                }
+                windowsByProximity.clear();
+            }
+        }
+
+        private boolean isWindowQueueUnchanged() {
+            // the window queue is in reverse order of the windows in queue.
+            Iterator<Window> windows = impl_getWindows();
+            int index = windowsInQueue.size();
+            while (windows.hasNext()) {
+                Window window = windows.next();
+                index -= 1;
+                if (index < 0 || window != windowsInQueue.get(index) ||
+                        retrieveOwnerOf(window) != ownerWindows[index]) {
+                    return false;
+                }
+            }
+            return index == 0;
+        }
+
+        @SuppressWarnings("deprecation")
+        private Iterator<Window> impl_getWindows() {
+            return Window.impl_getWindows();
+        }
 
-    private boolean hasStageTitle(Stage stage,
-                                  String stageTitleRegex) {
-        return stage.getTitle() != null && stage.getTitle().matches(stageTitleRegex);
     }
 
 }
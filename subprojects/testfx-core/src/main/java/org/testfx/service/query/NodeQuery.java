@@ -18,12 +18,15 @@ package org.testfx.service.query;
 
 import java.util.Collection;
 import java.util.Set;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import org.hamcrest.Matcher;
+import org.testfx.util.NodeQueryUtils;
 
 public interface NodeQuery {
 
@@ -39,12 +42,83 @@ public interface NodeQuery {
     <T extends Node> NodeQuery lookup(Predicate<T> predicate);
     NodeQuery lookup(Function<Node, Set<Node>> function);
 
+    /**
+     * Looks up the nodes of the given type that match the given predicate. The predicate is only
+     * called with nodes of the given type.
+     *
+     * @param type the type
+     * @param predicate the predicate
+     * @param <T> the type
+     * @return this query
+     */
+    default <T extends Node> NodeQuery lookup(Class<T> type, Predicate<? super T> predicate) {
+        Predicate<Node> typedPredicate = node -> type.isInstance(node) &&
+            predicate.apply(type.cast(node));
+        return lookup(typedPredicate);
+    }
+
+    /**
+     * Looks up the nodes of the given type that match the given matcher. The matcher is only
+     * called with nodes of the given type.
+     *
+     * @param type the type
+     * @param matcher the matcher
+     * @param <T> the type
+     * @return this query
+     */
+    default <T extends Node> NodeQuery lookup(Class<T> type, Matcher<? super T> matcher) {
+        Predicate<T> predicate = matcher::matches;
+        return lookup(type, predicate);
+    }
+
     <T> NodeQuery match(Matcher<T> matcher);
     <T extends Node> NodeQuery match(Predicate<T> predicate);
     NodeQuery nth(int index);
 
+    /**
+     * Looks up the nodes whose bounds contain the given point on screen, in the subtrees of the
+     * current nodes.
+     *
+     * @param point the point on screen
+     * @return this query
+     */
+    default NodeQuery at(Point2D point) {
+        return lookup(NodeQueryUtils.byPoint(point));
+    }
+
+    /**
+     * Looks up the nodes whose bounds intersect the given bounds on screen, in the subtrees of
+     * the current nodes.
+     *
+     * @param bounds the bounds on screen
+     * @return this query
+     */
+    default NodeQuery within(Bounds bounds) {
+        return lookup(NodeQueryUtils.byBounds(bounds));
+    }
+
     <T extends Node> T query();
     <T extends Node> Optional<T> tryQuery();
     <T extends Node> Set<T> queryAll();
 
+    /**
+     * Enables profiling of the steps that are added to this query after this call. Queries that
+     * do not support profiling ignore this call.
+     *
+     * @return this query
+     */
+    default NodeQuery profile() {
+        return this;
+    }
+
+    /**
+     * Returns the statistics of the profiled steps of this query, or an empty string if no step
+     * was profiled.
+     *
+     * @return the statistics
+     */
+    default String explain() {
+        return "";
+    }
+
 }
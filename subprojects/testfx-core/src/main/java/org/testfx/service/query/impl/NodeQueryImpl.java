@@ -16,20 +16,29 @@
  */
 package org.testfx.service.query.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
 import org.testfx.api.annotation.Unstable;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.util.NodeQueryProfiler;
 import org.testfx.util.NodeQueryUtils;
 
 @Unstable
@@ -39,15 +48,23 @@ public class NodeQueryImpl implements NodeQuery {
     // CONSTANTS.
     //---------------------------------------------------------------------------------------------
 
-    private static final String CSS_ID_SELECTOR_PREFIX = "#";
+    private static final String PROPERTY_TESTFX_QUERY_PROFILE = "testfx.query.profile";
 
-    private static final String CSS_CLASS_SELECTOR_PREFIX = ".";
+    private static final String PROPERTY_TESTFX_QUERY_LAZY = "testfx.query.lazy";
 
     //---------------------------------------------------------------------------------------------
     // PRIVATE FIELDS.
     //---------------------------------------------------------------------------------------------
 
-    private Set<Node> parentNodes = Sets.newLinkedHashSet();
+    // the steps are evaluated when they are added, or if lazy only by query(), tryQuery() and
+    // queryAll().
+    private FluentIterable<Node> queryNodes = FluentIterable.from(ImmutableList.<Node>of());
+
+    private boolean profiled = Boolean.getBoolean(PROPERTY_TESTFX_QUERY_PROFILE);
+
+    private boolean lazy = Boolean.getBoolean(PROPERTY_TESTFX_QUERY_LAZY);
+
+    private final List<NodeQueryProfiler.Step> profiledSteps = new ArrayList<>();
 
     //---------------------------------------------------------------------------------------------
     // METHODS.
@@ -55,101 +72,221 @@ public class NodeQueryImpl implements NodeQuery {
 
     @Override
     public NodeQuery from(Node... parentNodes) {
-        this.parentNodes.addAll(ImmutableList.copyOf(parentNodes));
-        return this;
+        return from(ImmutableList.copyOf(parentNodes));
     }
 
     @Override
     public NodeQuery from(Collection<Node> parentNodes) {
-        this.parentNodes.addAll(parentNodes);
+        queryNodes = distinct(queryNodes.append(ImmutableList.copyOf(parentNodes)));
+        completeStep(() -> "from(" + parentNodes.size() + " nodes)");
         return this;
     }
 
     @Override
     public NodeQuery lookup(String query) {
-        Function<Node, Set<Node>> queryFunction = isCssSelector(query) ?
-            NodeQueryUtils.bySelector(query) : NodeQueryUtils.byText(query);
-        lookup(queryFunction);
-        return this;
+        Supplier<String> description = () -> "lookup(\"" + query + "\")";
+        if (NodeQueryUtils.isCssSelector(query)) {
+            return lookup(description, NodeQueryUtils.bySelector(query));
+        }
+        return lookup(description, NodeQueryUtils.byTextLazily(query));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> NodeQuery lookup(Matcher<T> matcher) {
-        lookup(NodeQueryUtils.byMatcher((Matcher<Node>) matcher));
-        return this;
+        Predicate<Node> predicate = NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher);
+        return lookup(() -> "lookup(" + describe(matcher) + ")",
+            NodeQueryUtils.byPredicateLazily(predicate));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> NodeQuery lookup(Predicate<T> predicate) {
-        lookup(NodeQueryUtils.byPredicate((Predicate<Node>) predicate));
-        return this;
+        return lookup(() -> "lookup(predicate)",
+            NodeQueryUtils.byPredicateLazily((Predicate<Node>) predicate));
     }
 
     @Override
     public NodeQuery lookup(Function<Node, Set<Node>> function) {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        query = query.filter(Predicates.notNull());
-        query = query.transformAndConcat(function);
-        parentNodes = query.toSet();
-        return this;
+        return lookup(() -> "lookup(function)", function);
+    }
+
+    @Override
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Predicate<? super T> predicate) {
+        return lookup(() -> "lookup(" + type.getSimpleName() + ", predicate)",
+            NodeQueryUtils.byTypeLazily(type, predicate));
+    }
+
+    @Override
+    public <T extends Node> NodeQuery lookup(Class<T> type,
+                                             Matcher<? super T> matcher) {
+        return lookup(() -> "lookup(" + type.getSimpleName() + ", " + describe(matcher) + ")",
+            NodeQueryUtils.byTypeLazily(type, matcher::matches));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> NodeQuery match(Matcher<T> matcher) {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        query = query.filter(NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher));
-        parentNodes = query.toSet();
+        Predicate<Node> predicate = NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher);
+        queryNodes = queryNodes.filter(countingPredicateCalls(predicate));
+        completeStep(() -> "match(" + describe(matcher) + ")");
         return this;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> NodeQuery match(Predicate<T> predicate) {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        query = query.filter((Predicate<Node>) predicate);
-        parentNodes = query.toSet();
+        queryNodes = queryNodes.filter(countingPredicateCalls((Predicate<Node>) predicate));
+        completeStep(() -> "match(predicate)");
         return this;
     }
 
     @Override
     public NodeQuery nth(int index) {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        query = query.skip(index).limit(1);
-        parentNodes = query.toSet();
+        queryNodes = queryNodes.skip(index).limit(1);
+        completeStep(() -> "nth(" + index + ")");
         return this;
     }
 
+    /**
+     * Looks up the nodes whose bounds contain the given point on screen, in the subtrees of the
+     * current nodes.
+     *
+     * @param point the point on screen
+     * @return this query
+     */
+    @Override
+    public NodeQuery at(Point2D point) {
+        return lookup(() -> "at(" + point.getX() + ", " + point.getY() + ")",
+            NodeQueryUtils.byPoint(point));
+    }
+
+    /**
+     * Looks up the nodes whose bounds intersect the given bounds on screen, in the subtrees of
+     * the current nodes.
+     *
+     * @param bounds the bounds on screen
+     * @return this query
+     */
+    @Override
+    public NodeQuery within(Bounds bounds) {
+        return lookup(() -> "within(" + bounds.getMinX() + ", " + bounds.getMinY() + ", " +
+            bounds.getWidth() + ", " + bounds.getHeight() + ")", NodeQueryUtils.byBounds(bounds));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> T query() {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        return (T) query.first().orNull();
+        return (T) queryNodes.first().orNull();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Optional<T> tryQuery() {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        return (Optional<T>) query.first();
+        return (Optional<T>) queryNodes.first();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Set<T> queryAll() {
-        FluentIterable<Node> query = FluentIterable.from(parentNodes);
-        return (Set<T>) query.toSet();
+        return (Set<T>) queryNodes.toSet();
+    }
+
+    /**
+     * Enables profiling of the steps that are added to this query after this call. Profiling is
+     * enabled for all queries with the system property {@code testfx.query.profile}.
+     *
+     * @return this query
+     */
+    @Override
+    public NodeQuery profile() {
+        profiled = true;
+        return this;
+    }
+
+    /**
+     * Returns a table with the nodes visited, predicate calls, swallowed
+     * {@link ClassCastException}s, results and time of each profiled step of this query, or an
+     * empty string if no step was profiled.
+     *
+     * @return the table
+     */
+    @Override
+    public String explain() {
+        if (profiledSteps.isEmpty()) {
+            return "";
+        }
+        return NodeQueryProfiler.formatSteps(profiledSteps);
+    }
+
+    /**
+     * Defers the evaluation of the steps that are added to this query after this call until
+     * {@link #query()}, {@link #tryQuery()} or {@link #queryAll()}, which only evaluate them as
+     * far as needed, e.g. {@code query()} stops at the first match. Each of these calls evaluates
+     * the deferred steps again, against the scene graph at the time of the call. Lazy evaluation
+     * is enabled for all queries with the system property {@code testfx.query.lazy}.
+     *
+     * @return this query
+     */
+    public NodeQueryImpl lazy() {
+        lazy = true;
+        return this;
     }
 
     //---------------------------------------------------------------------------------------------
     // PRIVATE METHODS.
     //---------------------------------------------------------------------------------------------
 
-    private boolean isCssSelector(String query) {
-        return query.startsWith(CSS_ID_SELECTOR_PREFIX) ||
-            query.startsWith(CSS_CLASS_SELECTOR_PREFIX);
+    private NodeQuery lookup(Supplier<String> description,
+                             Function<Node, ? extends Iterable<Node>> function) {
+        FluentIterable<Node> query = queryNodes.filter(Predicates.notNull());
+        query = query.transformAndConcat(function);
+        queryNodes = distinct(query);
+        completeStep(description);
+        return this;
+    }
+
+    private void completeStep(Supplier<String> description) {
+        profileStep(description);
+        if (!lazy) {
+            // like before steps were composed, a step sees the scene graph at the time of its call.
+            queryNodes = FluentIterable.from(Sets.newLinkedHashSet(queryNodes));
+        }
+    }
+
+    private void profileStep(Supplier<String> description) {
+        if (!profiled) {
+            return;
+        }
+        NodeQueryProfiler.Step step = new NodeQueryProfiler.Step(description.get());
+        profiledSteps.add(step);
+        queryNodes = FluentIterable.from(NodeQueryProfiler.profile(step, queryNodes));
+    }
+
+    private Predicate<Node> countingPredicateCalls(Predicate<Node> predicate) {
+        if (!profiled) {
+            return predicate;
+        }
+        return (node) -> {
+            NodeQueryProfiler.recordPredicateCall();
+            return predicate.apply(node);
+        };
+    }
+
+    private static String describe(Matcher<?> matcher) {
+        return StringDescription.toString(matcher);
+    }
+
+    private static FluentIterable<Node> distinct(FluentIterable<Node> nodes) {
+        // keeps the first occurrence of each node, like the sets that each step used to return.
+        return new FluentIterable<Node>() {
+            @Override
+            public Iterator<Node> iterator() {
+                Set<Node> seenNodes = Sets.newIdentityHashSet();
+                return Iterators.filter(nodes.iterator(), seenNodes::add);
+            }
+        };
     }
 
 }
@@ -52,4 +52,10 @@ public class PrimaryStageFuture extends AbstractFuture<Stage> {
         return super.setException(throwable);
     }
 
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        // the primary stage is shared by all launches; a wait that timed out must not cancel it.
+        return false;
+    }
+
 }
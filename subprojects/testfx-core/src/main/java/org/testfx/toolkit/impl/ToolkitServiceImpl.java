@@ -17,6 +17,7 @@
 package org.testfx.toolkit.impl;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -33,7 +34,9 @@ import org.testfx.toolkit.ToolkitService;
 import org.testfx.toolkit.PrimaryStageFuture;
 
 import static org.testfx.util.WaitForAsyncUtils.async;
+import static org.testfx.util.WaitForAsyncUtils.asyncExecutor;
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.toCompletableFuture;
 
 @Unstable
 public class ToolkitServiceImpl implements ToolkitService {
@@ -120,30 +123,18 @@ public class ToolkitServiceImpl implements ToolkitService {
     public Future<Application> setupApplication(Supplier<Stage> stageSupplier,
                                                 Class<? extends Application> applicationClass,
                                                 String... applicationArgs) {
-        return async(() -> {
-            Application application = applicationService.create(() ->
-                createApplication(applicationClass)
-            ).get();
-            registerApplicationParameters(application, applicationArgs);
-            applicationService.init(application).get();
-            applicationService.start(application, stageSupplier.get()).get();
-            return application;
-        });
+        return setupApplication(stageSupplier, applicationService.create(() ->
+            createApplication(applicationClass)
+        ), applicationArgs);
     }
 
     @Override
     public Future<Application> setupApplication(Supplier<Stage> stageSupplier,
                                                 Supplier<Application> applicationSupplier,
                                                 String... applicationArgs) {
-        return async(() -> {
-            Application application = applicationService.create(() ->
-                applicationSupplier.get()
-            ).get();
-            registerApplicationParameters(application, applicationArgs);
-            applicationService.init(application).get();
-            applicationService.start(application, stageSupplier.get()).get();
-            return application;
-        });
+        return setupApplication(stageSupplier, applicationService.create(() ->
+            applicationSupplier.get()
+        ), applicationArgs);
     }
 
     @Override
@@ -155,6 +146,24 @@ public class ToolkitServiceImpl implements ToolkitService {
     // PRIVATE METHODS.
     //---------------------------------------------------------------------------------------------
 
+    private CompletableFuture<Application> setupApplication(Supplier<Stage> stageSupplier,
+                                                            Future<Application> applicationFuture,
+                                                            String... applicationArgs) {
+        // chains the stages without blocking a thread between them; init() runs on the executor
+        // service of async() with the deadline of the caller, create() and start() run on the
+        // JavaFX application thread.
+        return toCompletableFuture(applicationFuture)
+            .thenComposeAsync(application -> {
+                registerApplicationParameters(application, applicationArgs);
+                return toCompletableFuture(applicationService.init(application))
+                    .thenApply(result -> application);
+            }, asyncExecutor())
+            .thenCompose(application ->
+                toCompletableFuture(applicationService.start(application, stageSupplier.get()))
+                    .thenApply(result -> application)
+            );
+    }
+
     private Application createApplication(Class<? extends Application> applicationClass)
                                    throws Exception {
         return applicationClass.newInstance();
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testfx.api.annotation.Unstable;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A bounded {@link ThreadPoolExecutor} with named daemon threads that keeps counters about its
+ * tasks.
+ *
+ * <p>At most {@code maxThreads} threads are started; idle threads are stopped after one minute.
+ * Tasks that find no free thread wait in a queue of {@code queueCapacity}. Tasks that do not fit
+ * into the queue are rejected with a {@link java.util.concurrent.RejectedExecutionException};
+ * they never run on the submitting thread, which may be the JavaFX Application Thread.</p>
+ */
+@Unstable(reason = "class was recently added")
+public class AsyncThreadPool extends ThreadPoolExecutor {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final long KEEP_ALIVE_IN_SECONDS = 60;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    public AsyncThreadPool(String threadNamePrefix,
+                           int maxThreads,
+                           int queueCapacity) {
+        super(maxThreads, maxThreads, KEEP_ALIVE_IN_SECONDS, SECONDS,
+            new LinkedBlockingQueue<>(queueCapacity), createThreadFactory(threadNamePrefix),
+            new AbortPolicy());
+        allowCoreThreadTimeOut(true);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    static ThreadFactory createThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(threadNamePrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Override
+    public void execute(Runnable runnable) {
+        super.execute(new TimedRunnable(runnable, System.nanoTime()));
+    }
+
+    /**
+     * Returns the number of tasks that wait for a free thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /**
+     * Returns the number of tasks that started running.
+     *
+     * @return the started task count
+     */
+    public long getStartedTaskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Returns the mean time tasks waited in the queue before they started running.
+     *
+     * @param timeUnit the time unit
+     * @return the mean queue latency
+     */
+    public long getMeanQueueLatency(TimeUnit timeUnit) {
+        return timeUnit.convert(mean(totalQueueNanos.get(), taskCount.get()), NANOSECONDS);
+    }
+
+    /**
+     * Returns the longest time a task waited in the queue before it started running.
+     *
+     * @param timeUnit the time unit
+     * @return the maximum queue latency
+     */
+    public long getMaxQueueLatency(TimeUnit timeUnit) {
+        return timeUnit.convert(maxQueueNanos.get(), NANOSECONDS);
+    }
+
+    /**
+     * Returns the mean time tasks were running.
+     *
+     * @param timeUnit the time unit
+     * @return the mean run time
+     */
+    public long getMeanRunTime(TimeUnit timeUnit) {
+        return timeUnit.convert(mean(totalRunNanos.get(), taskCount.get()), NANOSECONDS);
+    }
+
+    /**
+     * Returns the longest time a task was running.
+     *
+     * @param timeUnit the time unit
+     * @return the maximum run time
+     */
+    public long getMaxRunTime(TimeUnit timeUnit) {
+        return timeUnit.convert(maxRunNanos.get(), NANOSECONDS);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static long mean(long total,
+                             long count) {
+        return (count == 0) ? 0 : total / count;
+    }
+
+    private static void updateMax(AtomicLong max,
+                                  long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private void recordQueueLatency(long queueNanos) {
+        taskCount.incrementAndGet();
+        totalQueueNanos.addAndGet(queueNanos);
+        updateMax(maxQueueNanos, queueNanos);
+    }
+
+    private void recordRunTime(long runNanos) {
+        totalRunNanos.addAndGet(runNanos);
+        updateMax(maxRunNanos, runNanos);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private class TimedRunnable implements Runnable {
+
+        private final Runnable runnable;
+        private final long submitNanos;
+
+        private TimedRunnable(Runnable runnable,
+                              long submitNanos) {
+            this.runnable = runnable;
+            this.submitNanos = submitNanos;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            recordQueueLatency(startNanos - submitNanos);
+            try {
+                runnable.run();
+            }
+            finally {
+                recordRunTime(System.nanoTime() - startNanos);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * A compiled CSS selector that is matched against {@link Node}s.
+ *
+ * <p>Supports type selectors ({@code Button}, {@code *}), id selectors ({@code #save}), class
+ * selectors ({@code .button}), attribute selectors ({@code [text]}, {@code [text='Save']}),
+ * pseudo-class selectors ({@code :focused}), the descendant and child ({@code >}) combinators
+ * and selector groups ({@code ,}). Attributes are read through the public getters of the node,
+ * e.g. {@code [text]} calls {@code getText()}.</p>
+ *
+ * <p>Compiled selectors are cached. A selector is matched from right to left against the node
+ * and its ancestors, so {@link #lookupAll(Node)} needs a single traversal of the scene graph.</p>
+ *
+ * <p>Unlike {@link Node#lookupAll(String)}, which ignores pseudo-classes, a pseudo-class selector
+ * only matches nodes whose pseudo-class state is currently set, e.g. {@code .button:hover} only
+ * matches buttons under the mouse and {@code .button} matches all buttons. That is why
+ * {@code NodeQuery.lookup(String)} only matches a selector with attribute or pseudo-class
+ * selectors by this class if it has the {@code css:} prefix.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class CssSelector {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final int CACHE_MAXIMUM_SIZE = 256;
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final LoadingCache<String, CssSelector> selectorCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .build(CacheLoader.from(CssSelector::parse));
+
+    private static final ConcurrentMap<String, Optional<Method>> getterCache =
+        new ConcurrentHashMap<>();
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private final String selector;
+
+    private final List<ComplexSelector> complexSelectors;
+
+    private final boolean structural;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private CssSelector(String selector,
+                        List<ComplexSelector> complexSelectors,
+                        boolean structural) {
+        this.selector = selector;
+        this.complexSelectors = complexSelectors;
+        this.structural = structural;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Compiles the given selector, or returns the cached result of an earlier compilation.
+     *
+     * @param selector the selector
+     * @return the compiled selector
+     * @throws IllegalArgumentException if the selector is not supported
+     */
+    public static CssSelector compile(String selector) {
+        try {
+            return selectorCache.getUnchecked(selector);
+        }
+        catch (UncheckedExecutionException exception) {
+            if (exception.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns whether the given node matches this selector.
+     *
+     * @param node the node
+     * @return whether the node matches
+     */
+    public boolean matches(Node node) {
+        for (ComplexSelector complexSelector : complexSelectors) {
+            if (complexSelector.matches(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether this selector only depends on the types, ids and style classes of nodes and
+     * the structure of the scene graph, i.e. it has no attribute or pseudo-class selectors.
+     *
+     * @return whether this selector is structural
+     */
+    public boolean isStructural() {
+        return structural;
+    }
+
+    /**
+     * Returns the given node and all of its descendants that match this selector, in scene graph
+     * order like {@link Node#lookupAll(String)}.
+     *
+     * @param rootNode the root node
+     * @return the matching nodes
+     */
+    public Set<Node> lookupAll(Node rootNode) {
+        return ImmutableSet.copyOf(SceneGraphWalker.create().collect(rootNode, this::matches));
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static CssSelector parse(String selector) {
+        return new SelectorParser(selector).parseSelectorGroup();
+    }
+
+    private static Object readAttribute(Node node,
+                                        String attribute) {
+        Optional<Method> getter = getterCache.computeIfAbsent(
+            node.getClass().getName() + "#" + attribute,
+            key -> findGetter(node.getClass(), attribute)
+        );
+        if (!getter.isPresent()) {
+            return null;
+        }
+        try {
+            return getter.get().invoke(node);
+        }
+        catch (ReflectiveOperationException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    private static Optional<Method> findGetter(Class<?> nodeClass,
+                                               String attribute) {
+        String suffix = Character.toUpperCase(attribute.charAt(0)) + attribute.substring(1);
+        for (String prefix : ImmutableList.of("get", "is")) {
+            try {
+                Method method = nodeClass.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class) {
+                    method.setAccessible(true);
+                    return Optional.of(method);
+                }
+            }
+            catch (NoSuchMethodException | SecurityException ignore) {}
+        }
+        return Optional.absent();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private enum Combinator {
+        DESCENDANT, CHILD
+    }
+
+    private static class ComplexSelector {
+
+        private final List<CompoundSelector> compoundSelectors;
+        private final List<Combinator> combinators;
+
+        private ComplexSelector(List<CompoundSelector> compoundSelectors,
+                                List<Combinator> combinators) {
+            this.compoundSelectors = compoundSelectors;
+            this.combinators = combinators;
+        }
+
+        private boolean matches(Node node) {
+            return matches(node, compoundSelectors.size() - 1);
+        }
+
+        private boolean matches(Node node,
+                                int index) {
+            if (!compoundSelectors.get(index).matches(node)) {
+                return false;
+            }
+            if (index == 0) {
+                return true;
+            }
+            if (combinators.get(index - 1) == Combinator.CHILD) {
+                Parent parentNode = node.getParent();
+                return parentNode != null && matches(parentNode, index - 1);
+            }
+            for (Node ancestorNode = node.getParent(); ancestorNode != null;
+                    ancestorNode = ancestorNode.getParent()) {
+                if (matches(ancestorNode, index - 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    private static class CompoundSelector {
+
+        private final List<Predicate<Node>> conditions;
+
+        private CompoundSelector(List<Predicate<Node>> conditions) {
+            this.conditions = conditions;
+        }
+
+        private boolean matches(Node node) {
+            for (Predicate<Node> condition : conditions) {
+                if (!condition.apply(node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    private static class SelectorParser {
+
+        private final String selector;
+        private int position = 0;
+        private boolean structural = true;
+
+        private SelectorParser(String selector) {
+            this.selector = selector;
+        }
+
+        private CssSelector parseSelectorGroup() {
+            ImmutableList.Builder<ComplexSelector> complexSelectors = ImmutableList.builder();
+            skipWhitespace();
+            complexSelectors.add(parseComplexSelector());
+            while (!isAtEnd()) {
+                expect(',');
+                skipWhitespace();
+                complexSelectors.add(parseComplexSelector());
+            }
+            return new CssSelector(selector, complexSelectors.build(), structural);
+        }
+
+        private ComplexSelector parseComplexSelector() {
+            ImmutableList.Builder<CompoundSelector> compoundSelectors = ImmutableList.builder();
+            ImmutableList.Builder<Combinator> combinators = ImmutableList.builder();
+            compoundSelectors.add(parseCompoundSelector());
+            while (true) {
+                boolean hadWhitespace = skipWhitespace();
+                if (isAtEnd() || peek() == ',') {
+                    break;
+                }
+                if (peek() == '>') {
+                    position++;
+                    skipWhitespace();
+                    combinators.add(Combinator.CHILD);
+                }
+                else if (hadWhitespace) {
+                    combinators.add(Combinator.DESCENDANT);
+                }
+                else {
+                    throw error("unexpected character");
+                }
+                compoundSelectors.add(parseCompoundSelector());
+            }
+            return new ComplexSelector(compoundSelectors.build(), combinators.build());
+        }
+
+        private CompoundSelector parseCompoundSelector() {
+            ImmutableList.Builder<Predicate<Node>> conditions = ImmutableList.builder();
+            int start = position;
+            if (!isAtEnd() && peek() == '*') {
+                position++;
+            }
+            else if (!isAtEnd() && isIdentifierCharacter(peek())) {
+                String type = parseIdentifier();
+                conditions.add(node -> type.equals(node.getTypeSelector()));
+            }
+            while (!isAtEnd()) {
+                char character = peek();
+                if (character == '#') {
+                    position++;
+                    String id = parseIdentifier();
+                    conditions.add(node -> id.equals(node.getId()));
+                }
+                else if (character == '.') {
+                    position++;
+                    String styleClass = parseIdentifier();
+                    conditions.add(node -> node.getStyleClass().contains(styleClass));
+                }
+                else if (character == ':') {
+                    position++;
+                    structural = false;
+                    PseudoClass pseudoClass = PseudoClass.getPseudoClass(parseIdentifier());
+                    conditions.add(node -> node.getPseudoClassStates().contains(pseudoClass));
+                }
+                else if (character == '[') {
+                    position++;
+                    structural = false;
+                    conditions.add(parseAttributeCondition());
+                }
+                else {
+                    break;
+                }
+            }
+            if (position == start) {
+                throw error("expected selector");
+            }
+            return new CompoundSelector(conditions.build());
+        }
+
+        private Predicate<Node> parseAttributeCondition() {
+            skipWhitespace();
+            String attribute = parseIdentifier();
+            skipWhitespace();
+            if (!isAtEnd() && peek() == ']') {
+                position++;
+                return node -> readAttribute(node, attribute) != null;
+            }
+            expect('=');
+            skipWhitespace();
+            String value = parseAttributeValue();
+            skipWhitespace();
+            expect(']');
+            return node -> {
+                Object attributeValue = readAttribute(node, attribute);
+                return attributeValue != null && Objects.equals(attributeValue.toString(), value);
+            };
+        }
+
+        private String parseAttributeValue() {
+            if (!isAtEnd() && (peek() == '\'' || peek() == '"')) {
+                char quote = selector.charAt(position++);
+                int end = selector.indexOf(quote, position);
+                if (end < 0) {
+                    throw error("unterminated string");
+                }
+                String value = selector.substring(position, end);
+                position = end + 1;
+                return value;
+            }
+            return parseIdentifier();
+        }
+
+        private String parseIdentifier() {
+            int start = position;
+            while (!isAtEnd() && isIdentifierCharacter(peek())) {
+                position++;
+            }
+            if (position == start) {
+                throw error("expected identifier");
+            }
+            return selector.substring(start, position);
+        }
+
+        private boolean skipWhitespace() {
+            int start = position;
+            while (!isAtEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+            return position > start;
+        }
+
+        private void expect(char character) {
+            if (isAtEnd() || peek() != character) {
+                throw error("expected '" + character + "'");
+            }
+            position++;
+        }
+
+        private boolean isAtEnd() {
+            return position >= selector.length();
+        }
+
+        private char peek() {
+            return selector.charAt(position);
+        }
+
+        private boolean isIdentifierCharacter(char character) {
+            return Character.isLetterOrDigit(character) || character == '-' || character == '_';
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                "Invalid selector \"" + selector + "\": " + message + " at position " + position
+            );
+        }
+
+    }
+
+}
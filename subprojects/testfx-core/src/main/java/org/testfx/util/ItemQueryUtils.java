@@ -0,0 +1,414 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * Queries the items of virtualized controls ({@link ListView}, {@link TableView} and
+ * {@link TreeView}) at the model level, i.e. independent of which rows currently have a rendered
+ * cell.
+ *
+ * <p>The rows of a value are looked up in an index per control, which is rebuilt after its items
+ * (or columns, cell values, or tree items) change. Since the values of unobservable items can
+ * still change, every hit of the index is verified against the model, and all rows are scanned
+ * when a hit fails verification or the value has no hit. A row is only scrolled into view by
+ * {@link #cellOfRow(Control, int)}, i.e. when an interaction needs its cell.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class ItemQueryUtils {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String SELECTOR_LIST_CELL = ".list-cell";
+
+    private static final String SELECTOR_TABLE_ROW_CELL = ".table-row-cell";
+
+    private static final String SELECTOR_TREE_CELL = ".tree-cell";
+
+    private static final Object CONTROL_PROPERTY_KEY = ItemQueryUtils.class;
+
+    private static final long SCROLL_TIMEOUT_IN_MILLIS = 5000;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private ItemQueryUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the indices of the items of the given list view that equal the given value, or whose
+     * string representation equals it.
+     *
+     * @param listView the list view
+     * @param value the value
+     * @return the row indices, in ascending order
+     */
+    public static List<Integer> rowsOf(ListView<?> listView,
+                                       Object value) {
+        return rowIndex(listView).lookupRows(value, listView.getItems().size(),
+            (row) -> Collections.singletonList(listView.getItems().get(row)),
+            (index) -> index.observe(listView.itemsProperty(), listView.getItems()));
+    }
+
+    /**
+     * Returns the indices of the rows of the given table view that have a cell value that equals
+     * the given value, or whose string representation equals it.
+     *
+     * @param tableView the table view
+     * @param value the value
+     * @return the row indices, in ascending order
+     */
+    public static List<Integer> rowsOf(TableView<?> tableView,
+                                       Object value) {
+        return rowIndex(tableView).lookupRows(value, tableView.getItems().size(),
+            (row) -> cellValuesOfRow(tableView, row),
+            (index) -> {
+                index.observe(tableView.itemsProperty(), tableView.getItems(),
+                    tableView.getColumns());
+                for (TableColumn<?, ?> column : tableView.getColumns()) {
+                    index.observe(column.cellValueFactoryProperty());
+                }
+                observeCellValues(index, tableView);
+            });
+    }
+
+    /**
+     * Returns the rows of the expanded tree items of the given tree view whose value equals the
+     * given value, or whose string representation equals it.
+     *
+     * @param treeView the tree view
+     * @param value the value
+     * @return the row indices, in ascending order
+     */
+    public static List<Integer> rowsOf(TreeView<?> treeView,
+                                       Object value) {
+        return rowIndex(treeView).lookupRows(value, treeView.getExpandedItemCount(),
+            (row) -> Collections.singletonList(treeView.getTreeItem(row).getValue()),
+            (index) -> index.observeTree(treeView));
+    }
+
+    /**
+     * Returns whether the given tree item or one of its descendants, expanded or not, has the
+     * given value.
+     *
+     * @param treeItem the tree item
+     * @param value the value
+     * @return whether the value was found
+     */
+    public static boolean containsValue(TreeItem<?> treeItem,
+                                        Object value) {
+        if (treeItem == null) {
+            return false;
+        }
+        if (Objects.equals(treeItem.getValue(), value)) {
+            return true;
+        }
+        for (TreeItem<?> childItem : treeItem.getChildren()) {
+            if (containsValue(childItem, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values of the cells in the given row of the given table view, in the order of
+     * its columns.
+     *
+     * @param tableView the table view
+     * @param row the row index
+     * @param <T> the type of the items
+     * @return the cell values
+     */
+    public static <T> List<Object> cellValuesOfRow(TableView<T> tableView,
+                                                   int row) {
+        T item = tableView.getItems().get(row);
+        List<Object> cellValues = new ArrayList<>(tableView.getColumns().size());
+        for (TableColumn<T, ?> column : tableView.getColumns()) {
+            cellValues.add(cellValue(tableView, column, item));
+        }
+        return cellValues;
+    }
+
+    /**
+     * Scrolls the given row of the given list, table or tree view into view and returns its
+     * cell, i.e. the {@code ListCell}, {@code TableRow} or {@code TreeCell}.
+     *
+     * @param control the list, table or tree view
+     * @param row the row index
+     * @return the cell, or absent if the row has no cell after scrolling
+     */
+    public static Optional<IndexedCell<?>> cellOfRow(Control control,
+                                                     int row) {
+        String cellSelector = cellSelectorOf(control);
+        WaitForAsyncUtils.waitForAsyncFx(SCROLL_TIMEOUT_IN_MILLIS, () -> scrollTo(control, row));
+        WaitForAsyncUtils.waitForFxEvents();
+        for (Node node : NodeQueryUtils.bySelector(cellSelector).apply(control)) {
+            IndexedCell<?> cell = (IndexedCell<?>) node;
+            if (cell.getIndex() == row && cell.isVisible()) {
+                return Optional.of(cell);
+            }
+        }
+        return Optional.absent();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static RowIndex rowIndex(Control control) {
+        synchronized (control) {
+            RowIndex index = (RowIndex) control.getProperties().get(CONTROL_PROPERTY_KEY);
+            if (index == null) {
+                index = new RowIndex();
+                control.getProperties().put(CONTROL_PROPERTY_KEY, index);
+            }
+            return index;
+        }
+    }
+
+    private static <T> void observeCellValues(RowIndex index,
+                                              TableView<T> tableView) {
+        for (T item : tableView.getItems()) {
+            for (TableColumn<T, ?> column : tableView.getColumns()) {
+                ObservableValue<?> cellValue = cellObservableValue(tableView, column, item);
+                if (cellValue != null) {
+                    index.observe(cellValue);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObservableValue<?> cellObservableValue(TableView<T> tableView,
+                                                              TableColumn<T, ?> column,
+                                                              T item) {
+        if (column.getCellValueFactory() == null) {
+            return null;
+        }
+        return ((TableColumn<T, Object>) column).getCellValueFactory()
+            .call(new TableColumn.CellDataFeatures<>(tableView, (TableColumn<T, Object>) column,
+                item));
+    }
+
+    private static <T> Object cellValue(TableView<T> tableView,
+                                        TableColumn<T, ?> column,
+                                        T item) {
+        ObservableValue<?> cellValue = cellObservableValue(tableView, column, item);
+        return cellValue == null ? null : cellValue.getValue();
+    }
+
+    private static boolean isMatchingValue(Object rowValue,
+                                           Object value) {
+        if (rowValue == null) {
+            return false;
+        }
+        return Objects.equals(rowValue, value) || Objects.equals(rowValue.toString(), value);
+    }
+
+    private static String cellSelectorOf(Control control) {
+        if (control instanceof ListView) {
+            return SELECTOR_LIST_CELL;
+        }
+        else if (control instanceof TableView) {
+            return SELECTOR_TABLE_ROW_CELL;
+        }
+        else if (control instanceof TreeView) {
+            return SELECTOR_TREE_CELL;
+        }
+        throw new IllegalArgumentException("control is not a ListView, TableView or TreeView");
+    }
+
+    private static void scrollTo(Control control,
+                                 int row) {
+        if (control instanceof ListView) {
+            ((ListView<?>) control).scrollTo(row);
+        }
+        else if (control instanceof TableView) {
+            ((TableView<?>) control).scrollTo(row);
+        }
+        else {
+            ((TreeView<?>) control).scrollTo(row);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private static class RowIndex {
+
+        private final Map<Object, List<Integer>> rowsByValue = new HashMap<>();
+        private final List<Observable> observables = new ArrayList<>();
+        private final InvalidationListener invalidationListener = (observable) -> invalidate();
+        private final EventHandler<TreeItem.TreeModificationEvent<Object>> treeEventHandler =
+            (event) -> invalidate();
+        private TreeItem<?> observedTreeItem;
+        private volatile boolean valid = false;
+
+        private synchronized List<Integer> lookupRows(Object value,
+                                                      int rowCount,
+                                                      IntFunction<List<Object>> rowValues,
+                                                      Consumer<RowIndex> observe) {
+            if (value == null) {
+                return ImmutableList.of();
+            }
+            if (!valid) {
+                rebuild(rowCount, rowValues, observe);
+            }
+            List<Integer> cachedRows = rowsByValue.getOrDefault(value, ImmutableList.of());
+            List<Integer> rows = verifiedRows(cachedRows, value, rowCount, rowValues);
+            if (rows.size() < cachedRows.size() || rows.isEmpty()) {
+                // values of unobserved items changed, so other rows might have this value now.
+                List<Integer> scannedRows = scanRows(value, rowCount, rowValues);
+                if (!scannedRows.equals(cachedRows)) {
+                    valid = false;
+                }
+                return scannedRows;
+            }
+            return rows;
+        }
+
+        private void rebuild(int rowCount,
+                             IntFunction<List<Object>> rowValues,
+                             Consumer<RowIndex> observe) {
+            unobserve();
+            rowsByValue.clear();
+            valid = true;
+            observe.accept(this);
+            for (int row = 0; row < rowCount; row++) {
+                for (Object rowValue : rowValues.apply(row)) {
+                    if (rowValue != null) {
+                        addRow(rowValue, row);
+                        addRow(rowValue.toString(), row);
+                    }
+                }
+            }
+        }
+
+        private void addRow(Object value,
+                            int row) {
+            List<Integer> rows = rowsByValue.computeIfAbsent(value, (key) -> new ArrayList<>());
+            if (rows.isEmpty() || rows.get(rows.size() - 1) != row) {
+                rows.add(row);
+            }
+        }
+
+        private List<Integer> verifiedRows(List<Integer> rows,
+                                           Object value,
+                                           int rowCount,
+                                           IntFunction<List<Object>> rowValues) {
+            List<Integer> verifiedRows = new ArrayList<>(rows.size());
+            for (int row : rows) {
+                if (row < rowCount && hasValue(rowValues.apply(row), value)) {
+                    verifiedRows.add(row);
+                }
+            }
+            return verifiedRows;
+        }
+
+        private List<Integer> scanRows(Object value,
+                                       int rowCount,
+                                       IntFunction<List<Object>> rowValues) {
+            List<Integer> rows = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                if (hasValue(rowValues.apply(row), value)) {
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+
+        private boolean hasValue(List<Object> rowValues,
+                                 Object value) {
+            for (Object rowValue : rowValues) {
+                if (isMatchingValue(rowValue, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void observe(Observable... observables) {
+            for (Observable observable : observables) {
+                observable.addListener(invalidationListener);
+                this.observables.add(observable);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void observeTree(TreeView<?> treeView) {
+            observe(treeView.rootProperty());
+            observedTreeItem = treeView.getRoot();
+            if (observedTreeItem != null) {
+                ((TreeItem<Object>) observedTreeItem).addEventHandler(
+                    TreeItem.treeNotificationEvent(), treeEventHandler);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void unobserve() {
+            for (Observable observable : observables) {
+                observable.removeListener(invalidationListener);
+            }
+            observables.clear();
+            if (observedTreeItem != null) {
+                ((TreeItem<Object>) observedTreeItem).removeEventHandler(
+                    TreeItem.treeNotificationEvent(), treeEventHandler);
+                observedTreeItem = null;
+            }
+        }
+
+        private void invalidate() {
+            valid = false;
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Supplier;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * Collects statistics of the steps of a node query: the nodes visited by scene graph walks, the
+ * predicate calls, the {@link ClassCastException}s that were swallowed as "no match", the number
+ * of results and the elapsed time.
+ *
+ * <p>A step is profiled by wrapping its results with {@link #profile(Step, Iterable)}. The
+ * lookups in {@link NodeQueryUtils} and {@link SceneGraphWalker} report to the step that is
+ * currently evaluated on the calling thread.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class NodeQueryProfiler {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String STEPS_HEADER_FORMAT = "%-40s %8s %10s %10s %8s %10s%n";
+
+    private static final String STEP_FORMAT = "%-40s %8d %10d %10d %8d %10.3f%n";
+
+    private static final int DESCRIPTION_MAXIMUM_LENGTH = 40;
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    // avoids the thread local lookup on every visited node while no step is profiled.
+    private static final AtomicInteger profilingCount = new AtomicInteger();
+
+    private static final ThreadLocal<Step> currentStep = new ThreadLocal<>();
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private NodeQueryProfiler() {
+        throw new UnsupportedOperationException();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns an iterable that attributes the work done while iterating the given iterable to the
+     * given step.
+     *
+     * @param step the step
+     * @param iterable the results of the step
+     * @param <T> the type of the results
+     * @return the profiled iterable
+     */
+    public static <T> Iterable<T> profile(Step step,
+                                          Iterable<T> iterable) {
+        return () -> {
+            Iterator<T> iterator = callInStep(step, iterable::iterator);
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return callInStep(step, iterator::hasNext);
+                }
+
+                @Override
+                public T next() {
+                    T next = callInStep(step, iterator::next);
+                    step.resultCount++;
+                    return next;
+                }
+            };
+        };
+    }
+
+    public static void recordVisitedNode() {
+        if (profilingCount.get() > 0 && currentStep.get() != null) {
+            currentStep.get().visitedNodeCount++;
+        }
+    }
+
+    public static void recordPredicateCall() {
+        if (profilingCount.get() > 0 && currentStep.get() != null) {
+            currentStep.get().predicateCallCount++;
+        }
+    }
+
+    public static void recordSwallowedException() {
+        if (profilingCount.get() > 0 && currentStep.get() != null) {
+            currentStep.get().swallowedExceptionCount++;
+        }
+    }
+
+    /**
+     * Formats the statistics of the given steps as a table. The time of a step excludes the time
+     * spent in the steps before it. All numbers are totals over all evaluations of the steps.
+     *
+     * @param steps the steps, in the order of the query
+     * @return the table
+     */
+    public static String formatSteps(List<Step> steps) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, STEPS_HEADER_FORMAT,
+            "step", "visited", "predicates", "exceptions", "results", "time (ms)"));
+        for (Step step : steps) {
+            builder.append(String.format(Locale.US, STEP_FORMAT,
+                abbreviate(step.description), step.visitedNodeCount, step.predicateCallCount,
+                step.swallowedExceptionCount, step.resultCount,
+                step.elapsedNanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+        return builder.toString();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static <T> T callInStep(Step step,
+                                    Supplier<T> call) {
+        Step previousStep = currentStep.get();
+        currentStep.set(step);
+        profilingCount.incrementAndGet();
+        long startNanos = System.nanoTime();
+        try {
+            return call.get();
+        }
+        finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            step.elapsedNanos += elapsedNanos;
+            if (previousStep != null) {
+                // a step that is evaluated by a later step does not count towards its time.
+                previousStep.elapsedNanos -= elapsedNanos;
+            }
+            profilingCount.decrementAndGet();
+            currentStep.set(previousStep);
+        }
+    }
+
+    private static String abbreviate(String description) {
+        if (description.length() <= DESCRIPTION_MAXIMUM_LENGTH) {
+            return description;
+        }
+        return description.substring(0, DESCRIPTION_MAXIMUM_LENGTH - 3) + "...";
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * The statistics of a single step of a query.
+     */
+    public static final class Step {
+
+        private final String description;
+        private long visitedNodeCount;
+        private long predicateCallCount;
+        private long swallowedExceptionCount;
+        private long resultCount;
+        private long elapsedNanos;
+
+        public Step(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public long getVisitedNodeCount() {
+            return visitedNodeCount;
+        }
+
+        public long getPredicateCallCount() {
+            return predicateCallCount;
+        }
+
+        public long getSwallowedExceptionCount() {
+            return swallowedExceptionCount;
+        }
+
+        public long getResultCount() {
+            return resultCount;
+        }
+
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
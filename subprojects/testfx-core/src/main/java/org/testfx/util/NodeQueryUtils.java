@@ -17,10 +17,13 @@
 package org.testfx.util;
 
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -31,18 +34,36 @@ import javafx.stage.Stage;
 import javafx.stage.Window;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Iterators;
 import org.hamcrest.Matcher;
 import org.testfx.api.annotation.Unstable;
 
 @Unstable
 public final class NodeQueryUtils {
 
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String CSS_ID_SELECTOR_PREFIX = "#";
+
+    private static final String CSS_CLASS_SELECTOR_PREFIX = ".";
+
+    private static final String CSS_SELECTOR_PREFIX = "css:";
+
+    private static final String QUERY_KEY_SELECTOR = "selector:";
+
+    private static final String QUERY_KEY_TEXT = "text:";
+
+    private static final String QUERY_KEY_TYPE = "type:";
+
     //---------------------------------------------------------------------------------------------
     // CONSTRUCTORS.
     //---------------------------------------------------------------------------------------------
@@ -84,26 +105,204 @@ public final class NodeQueryUtils {
             .toSet();
     }
 
+    /**
+     * Returns a function that looks up the nodes that match the given selector. A selector with
+     * the {@code css:} prefix is matched by {@link CssSelector}, including its attribute and
+     * pseudo-class selectors. Any other selector matches the same nodes as
+     * {@link Node#lookupAll(String)}.
+     *
+     * @param selector the selector
+     * @return the lookup function
+     * @throws IllegalArgumentException if the selector has the {@code css:} prefix and is not
+     *     supported by {@link CssSelector}
+     */
     public static Function<Node, Set<Node>> bySelector(String selector) {
-        return (parentNode) -> lookupWithSelector(parentNode, selector);
+        if (selector.startsWith(CSS_SELECTOR_PREFIX)) {
+            String cssSelector = selector.substring(CSS_SELECTOR_PREFIX.length());
+            CssSelector compiledSelector = CssSelector.compile(cssSelector);
+            return (parentNode) -> lookupWithCssSelector(parentNode, cssSelector,
+                compiledSelector);
+        }
+        Optional<CssSelector> cssSelector = compileSelector(selector);
+        // Node.lookupAll() ignores attributes and pseudo-classes, unlike CssSelector.
+        if (!cssSelector.isPresent() || !cssSelector.get().isStructural()) {
+            return (parentNode) -> lookupWithSelector(parentNode, selector);
+        }
+        return (parentNode) -> lookupWithCssSelector(parentNode, selector, cssSelector.get());
     }
 
     public static Function<Node, Set<Node>> byPredicate(Predicate<Node> predicate) {
         return (parentNode) -> lookupWithPredicate(parentNode, predicate);
     }
 
+    /**
+     * Returns a function that lazily walks the subtree of a node in scene graph order and yields
+     * the nodes that match the given predicate. Unlike {@link #byPredicate(Predicate)}, the
+     * subtree is only walked as far as the returned nodes are iterated.
+     *
+     * @param predicate the predicate
+     * @return the function
+     */
+    public static Function<Node, Iterable<Node>> byPredicateLazily(Predicate<Node> predicate) {
+        return (parentNode) -> () -> lookupLazilyWithPredicate(parentNode, predicate);
+    }
+
+    /**
+     * Returns a function that lazily yields the nodes in the subtree of a node that are instances
+     * of the given type and match the given predicate. The type is checked before the predicate is
+     * applied, and the class index of the scene is used if it has a {@link SceneGraphIndex}.
+     *
+     * @param type the type
+     * @param predicate the predicate
+     * @param <T> the type
+     * @return the function
+     */
+    public static <T extends Node> Function<Node, Iterable<Node>> byTypeLazily(
+            Class<T> type,
+            Predicate<? super T> predicate) {
+        Predicate<Node> typedPredicate = isInstanceOf(type, predicate);
+        Function<Node, Iterable<Node>> lookupFunction = byPredicateLazily(typedPredicate);
+        return (parentNode) -> lookupWithTypeIndex(parentNode, type)
+            .<Iterable<Node>>transform((nodes) -> Iterables.filter(nodes,
+                (node) -> applyPredicateSafely(typedPredicate, node)))
+            .or(() -> lookupFunction.apply(parentNode));
+    }
+
+    /**
+     * Returns a function that looks up the nodes in the subtree of a node whose bounds contain the
+     * given point on screen, using the {@link SceneBoundsIndex} of the scene.
+     *
+     * @param point the point on screen
+     * @return the function
+     */
+    public static Function<Node, Set<Node>> byPoint(Point2D point) {
+        return (parentNode) -> lookupWithBoundsIndex(parentNode,
+            (index) -> index.lookupAt(parentNode, point));
+    }
+
+    /**
+     * Returns a function that looks up the nodes in the subtree of a node whose bounds intersect
+     * the given bounds on screen, using the {@link SceneBoundsIndex} of the scene.
+     *
+     * @param bounds the bounds on screen
+     * @return the function
+     */
+    public static Function<Node, Set<Node>> byBounds(Bounds bounds) {
+        return (parentNode) -> lookupWithBoundsIndex(parentNode,
+            (index) -> index.lookupWithin(parentNode, bounds));
+    }
+
     public static Function<Node, Set<Node>> byMatcher(Matcher<Node> matcher) {
         return byPredicate(matchesMatcher(matcher));
     }
 
     public static Function<Node, Set<Node>> byText(String text) {
-        return byPredicate(hasText(text));
+        Function<Node, Set<Node>> lookupFunction = byPredicate(hasText(text));
+        return (parentNode) -> lookupWithTextIndex(parentNode, text)
+            .or(() -> lookupFunction.apply(parentNode));
+    }
+
+    /**
+     * Returns a function that yields the nodes in the subtree of a node that have the given text,
+     * like {@link #byPredicateLazily(Predicate)} with {@link #hasText(String)}. The text index of
+     * the scene is used if it has a {@link SceneGraphIndex}.
+     *
+     * @param text the text
+     * @return the function
+     */
+    public static Function<Node, Iterable<Node>> byTextLazily(String text) {
+        Function<Node, Iterable<Node>> lookupFunction = byPredicateLazily(hasText(text));
+        return (parentNode) -> lookupWithTextIndex(parentNode, text)
+            .<Iterable<Node>>transform((nodes) -> nodes)
+            .or(() -> lookupFunction.apply(parentNode));
     }
 
     public static Predicate<Node> hasId(String id) {
         return (node) -> hasNodeId(node, id);
     }
 
+    public static Predicate<Node> matchesSelector(String selector) {
+        CssSelector cssSelector = CssSelector.compile(selector.startsWith(CSS_SELECTOR_PREFIX) ?
+            selector.substring(CSS_SELECTOR_PREFIX.length()) : selector);
+        return (node) -> cssSelector.matches(node);
+    }
+
+    public static <T extends Node> Predicate<Node> isInstanceOf(Class<T> type,
+                                                                Predicate<? super T> predicate) {
+        return (node) -> type.isInstance(node) && predicate.apply(type.cast(node));
+    }
+
+    /**
+     * Returns a predicate for the given string query of {@code NodeQuery.lookup(String)}, i.e. a
+     * CSS selector if {@link #isCssSelector(String)}, otherwise a text.
+     *
+     * @param query the query
+     * @return the predicate
+     * @throws IllegalArgumentException if the query has the {@code css:} prefix and is not
+     *     supported by {@link CssSelector}
+     */
+    public static Predicate<Node> matchesQuery(String query) {
+        if (!isCssSelector(query)) {
+            return hasText(query);
+        }
+        if (!query.startsWith(CSS_SELECTOR_PREFIX)) {
+            Optional<CssSelector> cssSelector = compileSelector(query);
+            if (!cssSelector.isPresent() || !cssSelector.get().isStructural()) {
+                // Node.lookup() returns the node itself if it matches, like Node.lookupAll().
+                return (node) -> node.lookup(query) == node;
+            }
+        }
+        return matchesSelector(query);
+    }
+
+    /**
+     * Returns whether the given string query of {@code NodeQuery.lookup(String)} is a CSS
+     * selector rather than a text, i.e. starts with {@code #} or {@code .}, or with {@code css:}
+     * for any other selector supported by {@link CssSelector}, e.g.
+     * {@code css:VBox > Label} or {@code css:Button[text='Save']}.
+     *
+     * @param query the query
+     * @return whether the query is a CSS selector
+     */
+    public static boolean isCssSelector(String query) {
+        return query.startsWith(CSS_ID_SELECTOR_PREFIX) ||
+            query.startsWith(CSS_CLASS_SELECTOR_PREFIX) ||
+            query.startsWith(CSS_SELECTOR_PREFIX);
+    }
+
+    /**
+     * Walks the subtrees of the given nodes once and collects the nodes that match each of the
+     * given predicates, in scene graph order.
+     *
+     * @param parentNodes the parent nodes
+     * @param predicates the predicates by key
+     * @param <K> the type of the keys
+     * @return the matching nodes by key, in the order of the given predicates
+     */
+    public static <K> Map<K, Set<Node>> lookupBatch(Collection<Node> parentNodes,
+                                                    Map<K, Predicate<Node>> predicates) {
+        Map<K, ImmutableSet.Builder<Node>> resultNodes = new LinkedHashMap<>();
+        for (K key : predicates.keySet()) {
+            resultNodes.put(key, ImmutableSet.builder());
+        }
+        SceneGraphWalker walker = SceneGraphWalker.create();
+        for (Node parentNode : parentNodes) {
+            walker.walk(parentNode, (node, depth) -> {
+                for (Map.Entry<K, Predicate<Node>> entry : predicates.entrySet()) {
+                    if (applyPredicateSafely(entry.getValue(), node)) {
+                        resultNodes.get(entry.getKey()).add(node);
+                    }
+                }
+                return SceneGraphWalker.VisitResult.CONTINUE;
+            });
+        }
+        ImmutableMap.Builder<K, Set<Node>> results = ImmutableMap.builder();
+        for (Map.Entry<K, ImmutableSet.Builder<Node>> entry : resultNodes.entrySet()) {
+            results.put(entry.getKey(), entry.getValue().build());
+        }
+        return results.build();
+    }
+
     public static Predicate<Node> hasText(String text) {
         return (node) -> hasNodeText(node, text);
     }
@@ -145,33 +344,86 @@ public final class NodeQueryUtils {
         return popupControl.getScene().getRoot();
     }
 
+    private static Optional<CssSelector> compileSelector(String selector) {
+        try {
+            return Optional.of(CssSelector.compile(selector));
+        }
+        catch (IllegalArgumentException exception) {
+            // fall back to JavaFX for selectors that are not supported by CssSelector.
+            return Optional.absent();
+        }
+    }
+
     private static Set<Node> lookupWithSelector(Node parentNode,
                                                 String selector) {
         return parentNode.lookupAll(selector);
     }
 
+    private static Set<Node> lookupWithCssSelector(Node parentNode,
+                                                   String selector,
+                                                   CssSelector cssSelector) {
+        Optional<SceneGraphIndex> index = SceneGraphIndex.of(parentNode);
+        if (!index.isPresent() || !cssSelector.isStructural()) {
+            return cssSelector.lookupAll(parentNode);
+        }
+        return index.get().lookupCached(parentNode, QUERY_KEY_SELECTOR + selector, () ->
+            index.get().lookupBySelector(parentNode, selector)
+                .or(() -> cssSelector.lookupAll(parentNode))
+        );
+    }
+
+    private static Optional<Set<Node>> lookupWithTextIndex(Node parentNode,
+                                                           String text) {
+        Optional<SceneGraphIndex> index = SceneGraphIndex.of(parentNode);
+        if (!index.isPresent()) {
+            return Optional.absent();
+        }
+        return Optional.of(index.get().lookupCached(parentNode, QUERY_KEY_TEXT + text, () ->
+            index.get().lookupByText(parentNode, text)
+        ));
+    }
+
+    private static Optional<Set<Node>> lookupWithTypeIndex(Node parentNode,
+                                                           Class<?> type) {
+        Optional<SceneGraphIndex> index = SceneGraphIndex.of(parentNode);
+        if (!index.isPresent()) {
+            return Optional.absent();
+        }
+        return Optional.of(index.get().lookupCached(parentNode, QUERY_KEY_TYPE + type.getName(),
+            () -> index.get().lookupByType(parentNode, type)
+        ));
+    }
+
+    private static Set<Node> lookupWithBoundsIndex(Node parentNode,
+                                                   Function<SceneBoundsIndex, Set<Node>> lookup) {
+        Scene scene = parentNode.getScene();
+        if (scene == null) {
+            return ImmutableSet.of();
+        }
+        return lookup.apply(SceneBoundsIndex.enable(scene));
+    }
+
     private static Set<Node> lookupWithPredicate(Node parentNode,
                                                  Predicate<Node> predicate) {
-        Set<Node> resultNodes = Sets.newLinkedHashSet();
-        if (applyPredicateSafely(predicate, parentNode)) {
-            resultNodes.add(parentNode);
-        }
-        if (parentNode instanceof Parent) {
-            List<Node> childNodes = ((Parent) parentNode).getChildrenUnmodifiable();
-            for (Node childNode : childNodes) {
-                resultNodes.addAll(lookupWithPredicate(childNode, predicate));
-            }
-        }
-        return ImmutableSet.copyOf(resultNodes);
+        return ImmutableSet.copyOf(SceneGraphWalker.create()
+            .collect(parentNode, node -> applyPredicateSafely(predicate, node)));
+    }
+
+    private static Iterator<Node> lookupLazilyWithPredicate(Node parentNode,
+                                                            Predicate<Node> predicate) {
+        return Iterators.filter(SceneGraphWalker.create().iterator(parentNode),
+            node -> applyPredicateSafely(predicate, node));
     }
 
     private static <T> boolean applyPredicateSafely(Predicate<T> predicate,
                                                     T input) {
         // TODO: Test cases with ClassCastException.
+        NodeQueryProfiler.recordPredicateCall();
         try {
             return predicate.apply(input);
         }
         catch (ClassCastException ignore) {
+            NodeQueryProfiler.recordSwallowedException();
             return false;
         }
     }
@@ -212,7 +464,7 @@ public final class NodeQueryUtils {
 
     private static boolean isNodeWithinSceneBounds(Node node) {
         Scene scene = node.getScene();
-        Bounds nodeBounds = node.localToScene(node.getBoundsInLocal());
+        Bounds nodeBounds = SceneBoundsIndex.boundsInScene(node);
         return nodeBounds.intersects(0, 0, scene.getWidth(), scene.getHeight());
     }
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.List;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * A condition on {@link ObservableValue}s and {@link ObservableList}s that notifies a listener
+ * whenever one of them changes. Used with
+ * {@link WaitForAsyncUtils#waitFor(long, java.util.concurrent.TimeUnit, ObservableCondition)}.
+ */
+@Unstable(reason = "class was recently added")
+public abstract class ObservableCondition {
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns a condition that holds while the value of the given {@link ObservableValue}
+     * matches the given predicate.
+     *
+     * @param observableValue the observable value
+     * @param predicate the predicate
+     * @param <T> the value type
+     * @return the condition
+     */
+    public static <T> ObservableCondition value(ObservableValue<T> observableValue,
+                                                Predicate<? super T> predicate) {
+        return new ObservableCondition() {
+            @Override
+            public boolean test() {
+                return predicate.apply(observableValue.getValue());
+            }
+
+            @Override
+            Runnable addListener(Runnable listener) {
+                ChangeListener<T> changeListener = (observable, oldValue, newValue) ->
+                    listener.run();
+                observableValue.addListener(changeListener);
+                return () -> observableValue.removeListener(changeListener);
+            }
+        };
+    }
+
+    /**
+     * Returns a condition that holds while the given {@link ObservableList} matches the given
+     * predicate.
+     *
+     * @param observableList the observable list
+     * @param predicate the predicate
+     * @param <E> the element type
+     * @return the condition
+     */
+    public static <E> ObservableCondition list(ObservableList<E> observableList,
+                                               Predicate<? super List<E>> predicate) {
+        return new ObservableCondition() {
+            @Override
+            public boolean test() {
+                return predicate.apply(observableList);
+            }
+
+            @Override
+            Runnable addListener(Runnable listener) {
+                ListChangeListener<E> changeListener = change -> listener.run();
+                observableList.addListener(changeListener);
+                return () -> observableList.removeListener(changeListener);
+            }
+        };
+    }
+
+    /**
+     * Returns a condition that holds while any of the given conditions holds.
+     *
+     * @param conditions the conditions
+     * @return the condition
+     */
+    public static ObservableCondition anyOf(ObservableCondition... conditions) {
+        return new CompositeCondition(conditions) {
+            @Override
+            public boolean test() {
+                for (ObservableCondition condition : conditions) {
+                    if (condition.test()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a condition that holds while all of the given conditions hold.
+     *
+     * @param conditions the conditions
+     * @return the condition
+     */
+    public static ObservableCondition allOf(ObservableCondition... conditions) {
+        return new CompositeCondition(conditions) {
+            @Override
+            public boolean test() {
+                for (ObservableCondition condition : conditions) {
+                    if (!condition.test()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Evaluates the condition against the current values.
+     *
+     * @return whether the condition holds
+     */
+    public abstract boolean test();
+
+    /**
+     * Registers the given listener to be run whenever one of the observed values changes.
+     *
+     * @param listener the listener
+     * @return a runnable that removes the listener again
+     */
+    abstract Runnable addListener(Runnable listener);
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private abstract static class CompositeCondition extends ObservableCondition {
+
+        private final List<ObservableCondition> conditions;
+
+        private CompositeCondition(ObservableCondition[] conditions) {
+            this.conditions = ImmutableList.copyOf(conditions);
+        }
+
+        @Override
+        Runnable addListener(Runnable listener) {
+            ImmutableList.Builder<Runnable> removers = ImmutableList.builder();
+            for (ObservableCondition condition : conditions) {
+                removers.add(condition.addListener(listener));
+            }
+            List<Runnable> removeListeners = removers.build();
+            return () -> removeListeners.forEach(Runnable::run);
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.application.Platform;
+
+import com.sun.javafx.tk.TKPulseListener;
+import com.sun.javafx.tk.Toolkit;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * Observes the pulses of the JavaFX Application Thread. A pulse is the point where JavaFX
+ * applies CSS, lays out and renders the scene graph; listeners are notified after every scene
+ * has been processed in a pulse.
+ *
+ * <p>The pulse listener is installed lazily on first use. If the JavaFX toolkit is not running
+ * yet, {@link #addPulseListener(Runnable)} returns {@code false} and callers should fall back to
+ * polling.</p>
+ */
+@Unstable(reason = "relies on internal toolkit api")
+public final class PulseUtils {
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final AtomicLong pulseCount = new AtomicLong();
+
+    private static final List<Runnable> pulseListeners = new CopyOnWriteArrayList<>();
+
+    private static final AtomicBoolean toolkitListenerInstalled = new AtomicBoolean();
+
+    // The toolkit keeps its pulse listeners in a weak map, so we have to hold a strong reference.
+    private static final TKPulseListener toolkitListener = PulseUtils::firePulse;
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private PulseUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the number of pulses observed since the pulse listener was installed.
+     *
+     * @return the pulse count
+     */
+    public static long pulseCount() {
+        installToolkitListener();
+        return pulseCount.get();
+    }
+
+    /**
+     * Adds a {@link Runnable} that is run on the JavaFX Application Thread after every pulse.
+     *
+     * @param listener the listener
+     * @return {@code true} if pulses can be observed, {@code false} if the toolkit is not running
+     */
+    public static boolean addPulseListener(Runnable listener) {
+        pulseListeners.add(listener);
+        return installToolkitListener();
+    }
+
+    /**
+     * Removes a {@link Runnable} previously added with {@link #addPulseListener(Runnable)}.
+     *
+     * @param listener the listener
+     */
+    public static void removePulseListener(Runnable listener) {
+        pulseListeners.remove(listener);
+    }
+
+    /**
+     * Returns whether pulses of the JavaFX Application Thread are being observed.
+     *
+     * @return whether the pulse listener is installed
+     */
+    public static boolean isObservingPulses() {
+        return toolkitListenerInstalled.get();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static boolean installToolkitListener() {
+        if (toolkitListenerInstalled.get()) {
+            return true;
+        }
+        try {
+            // Platform.runLater() fails fast if the toolkit was not started yet.
+            Platform.runLater(() -> {});
+        }
+        catch (IllegalStateException exception) {
+            return false;
+        }
+        if (toolkitListenerInstalled.compareAndSet(false, true)) {
+            Toolkit.getToolkit().addPostSceneTkPulseListener(toolkitListener);
+        }
+        return true;
+    }
+
+    private static void firePulse() {
+        pulseCount.incrementAndGet();
+        for (Runnable listener : pulseListeners) {
+            listener.run();
+        }
+    }
+
+}
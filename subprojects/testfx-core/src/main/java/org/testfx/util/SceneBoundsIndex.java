@@ -0,0 +1,469 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * A uniform grid of the bounds in scene of the nodes of a {@link Scene}, that answers which nodes
+ * are at a point or intersect a rectangle without computing the bounds of every node.
+ *
+ * <p>The grid is updated lazily on the JavaFX Application Thread by the next query: only the
+ * cells of the nodes whose bounds in local or transform to their parent were invalidated (and of
+ * the descendants of the latter) are updated, and the grid is only rebuilt after a change of the
+ * children of an indexed node or of the root of the scene. Indexes are created for a scene by
+ * {@link #enable(Scene)} or by the first {@code at()} or {@code within()} query on its nodes, and
+ * for every queried scene when the system property {@code testfx.lookup.index} is
+ * {@code true}.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class SceneBoundsIndex {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String PROPERTY_TESTFX_LOOKUP_INDEX = "testfx.lookup.index";
+
+    private static final Object SCENE_PROPERTY_KEY = SceneBoundsIndex.class;
+
+    private static final double CELL_SIZE = 64;
+
+    // nodes that span more cells are kept in a list that is checked by every query.
+    private static final int MAXIMUM_CELLS_PER_NODE = 64;
+
+    private static final long REFRESH_TIMEOUT_IN_MILLIS = 10000;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private final Scene scene;
+
+    private final InvalidationListener rootListener = (observable) -> invalidateStructure();
+
+    private final ListChangeListener<Node> childrenListener = (change) -> invalidateStructure();
+
+    private boolean structureInvalidated = true;
+
+    private BitSet invalidatedOrdinals = new BitSet();
+
+    private List<Node> nodes = new ArrayList<>();
+
+    private List<Bounds> nodeBounds = new ArrayList<>();
+
+    private List<BoundsListener> boundsListeners = new ArrayList<>();
+
+    private int[] subtreeEnds = new int[0];
+
+    private Map<Node, Integer> nodeOrdinals = new IdentityHashMap<>();
+
+    private SetMultimap<Long, Integer> ordinalsByCell = HashMultimap.create();
+
+    private BitSet largeOrdinals = new BitSet();
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private SceneBoundsIndex(Scene scene) {
+        this.scene = scene;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the bounds index of the given scene, and creates it if the scene has none.
+     *
+     * @param scene the scene
+     * @return the index
+     */
+    public static SceneBoundsIndex enable(Scene scene) {
+        synchronized (scene) {
+            SceneBoundsIndex index =
+                (SceneBoundsIndex) scene.getProperties().get(SCENE_PROPERTY_KEY);
+            if (index == null) {
+                index = new SceneBoundsIndex(scene);
+                scene.getProperties().put(SCENE_PROPERTY_KEY, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Removes the bounds index of the given scene, if it has one.
+     *
+     * @param scene the scene
+     */
+    public static void disable(Scene scene) {
+        SceneBoundsIndex index;
+        synchronized (scene) {
+            index = (SceneBoundsIndex) scene.getProperties().remove(SCENE_PROPERTY_KEY);
+        }
+        if (index != null) {
+            index.runOnFxThread(index::clear);
+        }
+    }
+
+    /**
+     * Returns the bounds of the given node in its scene, like
+     * {@code node.localToScene(node.getBoundsInLocal())}. The bounds are taken from the index of
+     * the scene if it has one.
+     *
+     * @param node the node
+     * @return the bounds in scene
+     */
+    public static Bounds boundsInScene(Node node) {
+        Scene scene = node.getScene();
+        if (scene != null) {
+            SceneBoundsIndex index = Boolean.getBoolean(PROPERTY_TESTFX_LOOKUP_INDEX) ?
+                enable(scene) : (SceneBoundsIndex) scene.getProperties().get(SCENE_PROPERTY_KEY);
+            if (index != null) {
+                Optional<Bounds> bounds = index.lookupBounds(node);
+                if (bounds.isPresent()) {
+                    return bounds.get();
+                }
+            }
+        }
+        return node.localToScene(node.getBoundsInLocal());
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * Returns the given node and its descendants whose bounds contain the given point on screen,
+     * in scene graph order.
+     *
+     * @param parentNode the parent node
+     * @param point the point on screen
+     * @return the nodes at the point
+     */
+    public Set<Node> lookupAt(Node parentNode,
+                              Point2D point) {
+        refreshOnFxThread();
+        Point2D scenePoint = point.subtract(sceneOffsetOnScreen());
+        synchronized (this) {
+            BitSet ordinals = (BitSet) largeOrdinals.clone();
+            for (int ordinal : ordinalsByCell.get(cellKey(cellIndex(scenePoint.getX()),
+                    cellIndex(scenePoint.getY())))) {
+                ordinals.set(ordinal);
+            }
+            return collectNodes(parentNode, ordinals,
+                (bounds) -> bounds.contains(scenePoint));
+        }
+    }
+
+    /**
+     * Returns the given node and its descendants whose bounds intersect the given bounds on
+     * screen, in scene graph order.
+     *
+     * @param parentNode the parent node
+     * @param bounds the bounds on screen
+     * @return the nodes within the bounds
+     */
+    public Set<Node> lookupWithin(Node parentNode,
+                                  Bounds bounds) {
+        refreshOnFxThread();
+        Point2D offset = sceneOffsetOnScreen();
+        Bounds sceneBounds = new BoundingBox(bounds.getMinX() - offset.getX(),
+            bounds.getMinY() - offset.getY(), bounds.getWidth(), bounds.getHeight());
+        synchronized (this) {
+            BitSet ordinals = (BitSet) largeOrdinals.clone();
+            for (int cellX = cellIndex(sceneBounds.getMinX());
+                    cellX <= cellIndex(sceneBounds.getMaxX()); cellX++) {
+                for (int cellY = cellIndex(sceneBounds.getMinY());
+                        cellY <= cellIndex(sceneBounds.getMaxY()); cellY++) {
+                    for (int ordinal : ordinalsByCell.get(cellKey(cellX, cellY))) {
+                        ordinals.set(ordinal);
+                    }
+                }
+            }
+            return collectNodes(parentNode, ordinals,
+                (nodeBounds) -> nodeBounds.intersects(sceneBounds));
+        }
+    }
+
+    /**
+     * Returns the bounds in scene of the given node, or absent if the node is not indexed.
+     *
+     * @param node the node
+     * @return the bounds in scene
+     */
+    public Optional<Bounds> lookupBounds(Node node) {
+        refreshOnFxThread();
+        synchronized (this) {
+            Integer ordinal = nodeOrdinals.get(node);
+            if (ordinal == null) {
+                return Optional.absent();
+            }
+            return Optional.of(nodeBounds.get(ordinal));
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private synchronized void invalidateStructure() {
+        structureInvalidated = true;
+    }
+
+    private synchronized void invalidateBounds(int ordinal,
+                                               boolean withDescendants) {
+        if (structureInvalidated || ordinal >= subtreeEnds.length) {
+            return;
+        }
+        // the bounds in scene of the descendants depend on the transforms of their ancestors.
+        invalidatedOrdinals.set(ordinal, withDescendants ? subtreeEnds[ordinal] : ordinal + 1);
+    }
+
+    private synchronized boolean isInvalidated() {
+        return structureInvalidated || !invalidatedOrdinals.isEmpty();
+    }
+
+    private void refreshOnFxThread() {
+        if (isInvalidated()) {
+            runOnFxThread(this::refresh);
+        }
+    }
+
+    private void runOnFxThread(Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+        }
+        else {
+            WaitForAsyncUtils.waitForAsyncFx(REFRESH_TIMEOUT_IN_MILLIS, runnable);
+        }
+    }
+
+    private synchronized void refresh() {
+        if (structureInvalidated) {
+            clear();
+            structureInvalidated = false;
+            scene.rootProperty().addListener(rootListener);
+            if (scene.getRoot() != null) {
+                build();
+            }
+            return;
+        }
+        for (int ordinal = invalidatedOrdinals.nextSetBit(0); ordinal >= 0;
+                ordinal = invalidatedOrdinals.nextSetBit(ordinal + 1)) {
+            unindexBounds(ordinal, nodeBounds.get(ordinal));
+            Bounds bounds = validateBounds(nodes.get(ordinal));
+            nodeBounds.set(ordinal, bounds);
+            indexBounds(ordinal, bounds);
+        }
+        invalidatedOrdinals.clear();
+    }
+
+    private void build() {
+        List<Integer> openOrdinals = new ArrayList<>();
+        List<Integer> openDepths = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        SceneGraphWalker.create().walk(scene.getRoot(), (node, depth) -> {
+            int ordinal = nodes.size();
+            // the subtrees of the nodes at the same or a deeper level end before this node.
+            while (!openDepths.isEmpty() && openDepths.get(openDepths.size() - 1) >= depth) {
+                openDepths.remove(openDepths.size() - 1);
+                ends.set(openOrdinals.remove(openOrdinals.size() - 1), ordinal);
+            }
+            openOrdinals.add(ordinal);
+            openDepths.add(depth);
+            ends.add(ordinal + 1);
+            BoundsListener boundsListener = new BoundsListener(node, ordinal);
+            node.boundsInLocalProperty().addListener(boundsListener);
+            node.localToParentTransformProperty().addListener(boundsListener);
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().addListener(childrenListener);
+            }
+            Bounds bounds = validateBounds(node);
+            nodes.add(node);
+            nodeBounds.add(bounds);
+            boundsListeners.add(boundsListener);
+            nodeOrdinals.put(node, ordinal);
+            indexBounds(ordinal, bounds);
+            return SceneGraphWalker.VisitResult.CONTINUE;
+        });
+        for (int ordinal : openOrdinals) {
+            ends.set(ordinal, nodes.size());
+        }
+        subtreeEnds = new int[ends.size()];
+        for (int ordinal = 0; ordinal < subtreeEnds.length; ordinal++) {
+            subtreeEnds[ordinal] = ends.get(ordinal);
+        }
+    }
+
+    private Bounds validateBounds(Node node) {
+        // reading the observed properties validates them, so that their listeners fire again.
+        node.getLocalToParentTransform();
+        return node.localToScene(node.getBoundsInLocal());
+    }
+
+    private void indexBounds(int ordinal,
+                             Bounds bounds) {
+        if (bounds.isEmpty()) {
+            return;
+        }
+        int minCellX = cellIndex(bounds.getMinX());
+        int maxCellX = cellIndex(bounds.getMaxX());
+        int minCellY = cellIndex(bounds.getMinY());
+        int maxCellY = cellIndex(bounds.getMaxY());
+        long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+        if (cellCount > MAXIMUM_CELLS_PER_NODE) {
+            largeOrdinals.set(ordinal);
+            return;
+        }
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                ordinalsByCell.put(cellKey(cellX, cellY), ordinal);
+            }
+        }
+    }
+
+    private void unindexBounds(int ordinal,
+                               Bounds bounds) {
+        if (largeOrdinals.get(ordinal)) {
+            largeOrdinals.clear(ordinal);
+            return;
+        }
+        if (bounds.isEmpty()) {
+            return;
+        }
+        for (int cellX = cellIndex(bounds.getMinX()); cellX <= cellIndex(bounds.getMaxX());
+                cellX++) {
+            for (int cellY = cellIndex(bounds.getMinY()); cellY <= cellIndex(bounds.getMaxY());
+                    cellY++) {
+                ordinalsByCell.remove(cellKey(cellX, cellY), ordinal);
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        scene.rootProperty().removeListener(rootListener);
+        for (int ordinal = 0; ordinal < nodes.size(); ordinal++) {
+            Node node = nodes.get(ordinal);
+            node.boundsInLocalProperty().removeListener(boundsListeners.get(ordinal));
+            node.localToParentTransformProperty().removeListener(boundsListeners.get(ordinal));
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().removeListener(childrenListener);
+            }
+        }
+        nodes = new ArrayList<>();
+        nodeBounds = new ArrayList<>();
+        boundsListeners = new ArrayList<>();
+        subtreeEnds = new int[0];
+        nodeOrdinals = new IdentityHashMap<>();
+        ordinalsByCell = HashMultimap.create();
+        largeOrdinals = new BitSet();
+        invalidatedOrdinals = new BitSet();
+        structureInvalidated = true;
+    }
+
+    private Set<Node> collectNodes(Node parentNode,
+                                   BitSet ordinals,
+                                   Predicate<Bounds> boundsPredicate) {
+        Integer parentOrdinal = nodeOrdinals.get(parentNode);
+        if (parentOrdinal == null) {
+            return ImmutableSet.of();
+        }
+        ImmutableSet.Builder<Node> resultNodes = ImmutableSet.builder();
+        int endOrdinal = subtreeEnds[parentOrdinal];
+        // the ordinals are in scene graph order and the subtree of a node is a range of them.
+        for (int ordinal = ordinals.nextSetBit(parentOrdinal);
+                ordinal >= 0 && ordinal < endOrdinal; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+            if (boundsPredicate.apply(nodeBounds.get(ordinal))) {
+                resultNodes.add(nodes.get(ordinal));
+            }
+        }
+        return resultNodes.build();
+    }
+
+    private Point2D sceneOffsetOnScreen() {
+        Window window = scene.getWindow();
+        if (window == null) {
+            return new Point2D(scene.getX(), scene.getY());
+        }
+        return new Point2D(window.getX() + scene.getX(), window.getY() + scene.getY());
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static int cellIndex(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX,
+                                int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private class BoundsListener implements InvalidationListener {
+
+        private final Node node;
+        private final int ordinal;
+
+        private BoundsListener(Node node,
+                               int ordinal) {
+            this.node = node;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            invalidateBounds(ordinal, observable == node.localToParentTransformProperty());
+        }
+
+    }
+
+}
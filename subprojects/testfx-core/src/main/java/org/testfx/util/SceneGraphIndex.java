@@ -0,0 +1,559 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * An index of the nodes of a {@link Scene} by id, style class, class and text, that is kept
+ * current through listeners on the child lists and properties of the indexed nodes.
+ *
+ * <p>Indexes are opt-in: they are created for a scene by {@link #enable(Scene)}, or for every
+ * scene that is queried when the system property {@code testfx.lookup.index} is {@code true}. The
+ * lookups return the same nodes in the same (pre-)order as a full walk of the scene graph below
+ * the given parent node. Indexes are always created on the JavaFX Application Thread, so that the
+ * scene graph is not modified while it is walked.</p>
+ *
+ * <p>The index also caches query results per parent node and query, see
+ * {@link #lookupCached(Node, String, Supplier)}. The cache is cleared whenever the
+ * {@link #getModificationCount() modification count} changes.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class SceneGraphIndex {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String PROPERTY_TESTFX_LOOKUP_INDEX = "testfx.lookup.index";
+
+    private static final Object SCENE_PROPERTY_KEY = SceneGraphIndex.class;
+
+    private static final Pattern ID_SELECTOR_PATTERN = Pattern.compile("#[A-Za-z_][\\w-]*");
+
+    private static final Pattern CLASS_SELECTOR_PATTERN = Pattern.compile("\\.[A-Za-z_][\\w-]*");
+
+    private static final int QUERY_CACHE_MAXIMUM_SIZE = 256;
+
+    private static final long ENABLE_TIMEOUT_IN_MILLIS = 10000;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private final Scene scene;
+
+    private final SetMultimap<String, Node> nodesById = HashMultimap.create();
+
+    private final SetMultimap<String, Node> nodesByStyleClass = HashMultimap.create();
+
+    private final SetMultimap<Class<?>, Node> nodesByType = HashMultimap.create();
+
+    private final SetMultimap<String, Node> nodesByText = HashMultimap.create();
+
+    private final Map<Node, IndexEntry> entries = new IdentityHashMap<>();
+
+    private final ChangeListener<Parent> rootListener = (observable, oldRoot, newRoot) -> {
+        synchronized (this) {
+            unindexSubtree(oldRoot);
+            indexSubtree(newRoot);
+        }
+    };
+
+    private volatile long modificationCount = 0;
+
+    private final Map<QueryKey, Set<Node>> queryCache =
+        new LinkedHashMap<QueryKey, Set<Node>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, Set<Node>> eldestEntry) {
+                return size() > QUERY_CACHE_MAXIMUM_SIZE;
+            }
+        };
+
+    private long queryCacheModificationCount = 0;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private SceneGraphIndex(Scene scene) {
+        this.scene = scene;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the index of the given scene, and creates it on the JavaFX Application Thread if the
+     * scene has none.
+     *
+     * @param scene the scene
+     * @return the index
+     */
+    public static SceneGraphIndex enable(Scene scene) {
+        if (!Platform.isFxApplicationThread()) {
+            SceneGraphIndex index = (SceneGraphIndex) scene.getProperties().get(SCENE_PROPERTY_KEY);
+            if (index != null) {
+                return index;
+            }
+            return WaitForAsyncUtils.waitForAsyncFx(ENABLE_TIMEOUT_IN_MILLIS, () -> enable(scene));
+        }
+        synchronized (scene) {
+            SceneGraphIndex index = (SceneGraphIndex) scene.getProperties().get(SCENE_PROPERTY_KEY);
+            if (index == null) {
+                index = new SceneGraphIndex(scene);
+                index.attach();
+                scene.getProperties().put(SCENE_PROPERTY_KEY, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Removes the index of the given scene, if it has one.
+     *
+     * @param scene the scene
+     */
+    public static void disable(Scene scene) {
+        synchronized (scene) {
+            SceneGraphIndex index =
+                (SceneGraphIndex) scene.getProperties().remove(SCENE_PROPERTY_KEY);
+            if (index != null) {
+                index.detach();
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the scene of the given node. It is absent if the node is not part of
+     * the scene graph of a scene (e.g. within a {@code SubScene}), or the scene has no index and
+     * the system property {@code testfx.lookup.index} is not {@code true}.
+     *
+     * @param node the node
+     * @return the index
+     */
+    public static Optional<SceneGraphIndex> of(Node node) {
+        Scene scene = node.getScene();
+        if (scene == null) {
+            return Optional.absent();
+        }
+        SceneGraphIndex index = Boolean.getBoolean(PROPERTY_TESTFX_LOOKUP_INDEX) ?
+            enable(scene) : (SceneGraphIndex) scene.getProperties().get(SCENE_PROPERTY_KEY);
+        if (index == null || !index.containsNode(node)) {
+            return Optional.absent();
+        }
+        return Optional.of(index);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * Returns a counter that is incremented on every change to the indexed nodes.
+     *
+     * @return the modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public synchronized Set<Node> lookupById(Node parentNode,
+                                             String id) {
+        return nodesBelow(parentNode, nodesById.get(id));
+    }
+
+    public synchronized Set<Node> lookupByStyleClass(Node parentNode,
+                                                     String styleClass) {
+        return nodesBelow(parentNode, nodesByStyleClass.get(styleClass));
+    }
+
+    public synchronized Set<Node> lookupByType(Node parentNode,
+                                               Class<?> type) {
+        List<Node> nodes = new ArrayList<>();
+        for (Map.Entry<Class<?>, Collection<Node>> entry : nodesByType.asMap().entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                nodes.addAll(entry.getValue());
+            }
+        }
+        return nodesBelow(parentNode, nodes);
+    }
+
+    public synchronized Set<Node> lookupByText(Node parentNode,
+                                               String text) {
+        return nodesBelow(parentNode, nodesByText.get(text));
+    }
+
+    /**
+     * Looks up the nodes that match the given selector, if it is a single id selector (e.g.
+     * {@code #save}) or a single class selector (e.g. {@code .button}).
+     *
+     * @param parentNode the parent node
+     * @param selector the selector
+     * @return the matching nodes, or absent if the selector can not be looked up in the index
+     */
+    public Optional<Set<Node>> lookupBySelector(Node parentNode,
+                                                String selector) {
+        if (ID_SELECTOR_PATTERN.matcher(selector).matches()) {
+            return Optional.of(lookupById(parentNode, selector.substring(1)));
+        }
+        if (CLASS_SELECTOR_PATTERN.matcher(selector).matches()) {
+            return Optional.of(lookupByStyleClass(parentNode, selector.substring(1)));
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Returns the cached result of the given query below the given parent node, or performs the
+     * lookup and caches its result. Cached results are discarded on every change to the indexed
+     * nodes, so the query must only depend on the ids, style classes, classes and texts of the
+     * nodes and the structure of the scene graph.
+     *
+     * @param parentNode the parent node
+     * @param query the description of the query, e.g. its selector
+     * @param lookup the lookup that is performed on a cache miss
+     * @return the result of the query
+     */
+    public Set<Node> lookupCached(Node parentNode,
+                                  String query,
+                                  Supplier<Set<Node>> lookup) {
+        QueryKey queryKey = new QueryKey(parentNode, query);
+        long lookupModificationCount;
+        synchronized (this) {
+            lookupModificationCount = modificationCount;
+            if (queryCacheModificationCount != lookupModificationCount) {
+                queryCache.clear();
+                queryCacheModificationCount = lookupModificationCount;
+            }
+            Set<Node> cachedNodes = queryCache.get(queryKey);
+            if (cachedNodes != null) {
+                return cachedNodes;
+            }
+        }
+        Set<Node> resultNodes = lookup.get();
+        synchronized (this) {
+            // do not cache results of lookups that raced with a change of the scene graph.
+            if (modificationCount == lookupModificationCount) {
+                queryCache.put(queryKey, resultNodes);
+            }
+        }
+        return resultNodes;
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private synchronized boolean containsNode(Node node) {
+        return entries.containsKey(node);
+    }
+
+    private synchronized void attach() {
+        scene.rootProperty().addListener(rootListener);
+        indexSubtree(scene.getRoot());
+    }
+
+    private synchronized void detach() {
+        scene.rootProperty().removeListener(rootListener);
+        unindexSubtree(scene.getRoot());
+    }
+
+    private void indexSubtree(Node rootNode) {
+        if (rootNode == null) {
+            return;
+        }
+        SceneGraphWalker.create().walk(rootNode, (node, depth) -> {
+            if (entries.containsKey(node)) {
+                return SceneGraphWalker.VisitResult.SKIP_CHILDREN;
+            }
+            entries.put(node, new IndexEntry(node));
+            return SceneGraphWalker.VisitResult.CONTINUE;
+        });
+        modificationCount++;
+    }
+
+    private void unindexSubtree(Node rootNode) {
+        if (rootNode == null) {
+            return;
+        }
+        SceneGraphWalker.create().walk(rootNode, (node, depth) -> {
+            IndexEntry entry = entries.remove(node);
+            if (entry == null) {
+                return SceneGraphWalker.VisitResult.SKIP_CHILDREN;
+            }
+            entry.dispose();
+            return SceneGraphWalker.VisitResult.CONTINUE;
+        });
+        modificationCount++;
+    }
+
+    private void updateKey(SetMultimap<String, Node> nodesByKey,
+                           Node node,
+                           String oldKey,
+                           String newKey) {
+        if (oldKey != null) {
+            nodesByKey.remove(oldKey, node);
+        }
+        if (newKey != null) {
+            nodesByKey.put(newKey, node);
+        }
+        modificationCount++;
+    }
+
+    private Set<Node> nodesBelow(Node parentNode,
+                                 Collection<Node> nodes) {
+        List<NodePath> nodePaths = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            if (isNodeBelow(node, parentNode)) {
+                nodePaths.add(new NodePath(node));
+            }
+        }
+        nodePaths.sort(NodePath.PRE_ORDER);
+        ImmutableSet.Builder<Node> resultNodes = ImmutableSet.builder();
+        for (NodePath nodePath : nodePaths) {
+            resultNodes.add(nodePath.node);
+        }
+        return resultNodes.build();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static boolean isNodeBelow(Node node,
+                                       Node parentNode) {
+        for (Node ancestor = node; ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor == parentNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> textOf(Node node) {
+        if (node instanceof Labeled) {
+            return Optional.fromNullable(((Labeled) node).getText());
+        }
+        else if (node instanceof TextInputControl) {
+            return Optional.fromNullable(((TextInputControl) node).getText());
+        }
+        return Optional.absent();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private class IndexEntry {
+
+        private final Node node;
+        private List<String> styleClasses;
+        private String id;
+        private String text;
+
+        private final ChangeListener<String> idListener = (observable, oldId, newId) -> {
+            synchronized (SceneGraphIndex.this) {
+                updateKey(nodesById, getNode(), id, newId);
+                id = newId;
+            }
+        };
+
+        private final ChangeListener<String> textListener = (observable, oldText, newText) -> {
+            synchronized (SceneGraphIndex.this) {
+                updateKey(nodesByText, getNode(), text, newText);
+                text = newText;
+            }
+        };
+
+        private final ListChangeListener<String> styleClassListener = change -> {
+            synchronized (SceneGraphIndex.this) {
+                updateStyleClasses();
+            }
+        };
+
+        private final ListChangeListener<Node> childrenListener = change -> {
+            synchronized (SceneGraphIndex.this) {
+                while (change.next()) {
+                    change.getRemoved().forEach(SceneGraphIndex.this::unindexSubtree);
+                    change.getAddedSubList().forEach(SceneGraphIndex.this::indexSubtree);
+                }
+                modificationCount++;
+            }
+        };
+
+        private IndexEntry(Node node) {
+            this.node = node;
+            id = node.getId();
+            if (id != null) {
+                nodesById.put(id, node);
+            }
+            styleClasses = ImmutableList.copyOf(node.getStyleClass());
+            nodesByStyleClass.putAll(styleClasses, node);
+            nodesByType.put(node.getClass(), node);
+            text = textOf(node).orNull();
+            if (text != null) {
+                nodesByText.put(text, node);
+            }
+            node.idProperty().addListener(idListener);
+            node.getStyleClass().addListener(styleClassListener);
+            if (node instanceof Labeled) {
+                ((Labeled) node).textProperty().addListener(textListener);
+            }
+            else if (node instanceof TextInputControl) {
+                ((TextInputControl) node).textProperty().addListener(textListener);
+            }
+            if (node instanceof Parent) {
+                childrenOf(node).addListener(childrenListener);
+            }
+        }
+
+        private Node getNode() {
+            return node;
+        }
+
+        private void updateStyleClasses() {
+            for (String styleClass : styleClasses) {
+                nodesByStyleClass.remove(styleClass, node);
+            }
+            styleClasses = ImmutableList.copyOf(node.getStyleClass());
+            nodesByStyleClass.putAll(styleClasses, node);
+            modificationCount++;
+        }
+
+        private void dispose() {
+            node.idProperty().removeListener(idListener);
+            node.getStyleClass().removeListener(styleClassListener);
+            if (node instanceof Labeled) {
+                ((Labeled) node).textProperty().removeListener(textListener);
+            }
+            else if (node instanceof TextInputControl) {
+                ((TextInputControl) node).textProperty().removeListener(textListener);
+            }
+            if (node instanceof Parent) {
+                childrenOf(node).removeListener(childrenListener);
+            }
+            if (id != null) {
+                nodesById.remove(id, node);
+            }
+            for (String styleClass : styleClasses) {
+                nodesByStyleClass.remove(styleClass, node);
+            }
+            nodesByType.remove(node.getClass(), node);
+            if (text != null) {
+                nodesByText.remove(text, node);
+            }
+        }
+
+        private ObservableList<Node> childrenOf(Node node) {
+            return ((Parent) node).getChildrenUnmodifiable();
+        }
+
+    }
+
+    private static class QueryKey {
+
+        private final Node parentNode;
+        private final String query;
+
+        private QueryKey(Node parentNode,
+                         String query) {
+            this.parentNode = parentNode;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey queryKey = (QueryKey) object;
+            return parentNode == queryKey.parentNode && query.equals(queryKey.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(parentNode), query);
+        }
+
+    }
+
+    private static class NodePath {
+
+        private static final Comparator<NodePath> PRE_ORDER = (path0, path1) -> {
+            int length = Math.min(path0.indices.length, path1.indices.length);
+            for (int index = 0; index < length; index++) {
+                int compare = Integer.compare(path0.indices[index], path1.indices[index]);
+                if (compare != 0) {
+                    return compare;
+                }
+            }
+            // an ancestor comes before its descendants.
+            return Integer.compare(path0.indices.length, path1.indices.length);
+        };
+
+        private final Node node;
+        private final int[] indices;
+
+        private NodePath(Node node) {
+            this.node = node;
+            int depth = 0;
+            for (Node parent = node.getParent(); parent != null; parent = parent.getParent()) {
+                depth++;
+            }
+            indices = new int[depth];
+            Node child = node;
+            for (int index = depth - 1; index >= 0; index--) {
+                Parent parent = child.getParent();
+                indices[index] = parent.getChildrenUnmodifiable().indexOf(child);
+                child = parent;
+            }
+        }
+
+    }
+
+}
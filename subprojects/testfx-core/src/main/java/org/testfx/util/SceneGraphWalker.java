@@ -0,0 +1,250 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.AbstractIterator;
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * Walks the scene graph below a node in pre-order, which is the order of
+ * {@link Node#lookupAll(String)}, without recursion.
+ *
+ * <p>Subtrees can be skipped with {@link #prune(Predicate)}, e.g. to ignore invisible branches,
+ * and the walk can be limited to a depth with {@link #maxDepth(int)}; the start node has depth
+ * {@code 0}.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class SceneGraphWalker {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final int INITIAL_STACK_CAPACITY = 32;
+
+    private static final int DEFAULT_RESULT_CAPACITY = 16;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private int maxDepth = Integer.MAX_VALUE;
+
+    private Predicate<Node> prunePredicate = Predicates.alwaysFalse();
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    public static SceneGraphWalker create() {
+        return new SceneGraphWalker();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Limits the walk to nodes at most the given number of levels below the start node.
+     *
+     * @param maxDepth the maximum depth
+     * @return this walker
+     */
+    public SceneGraphWalker maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Skips the nodes that match the given predicate together with their descendants.
+     *
+     * @param prunePredicate the predicate
+     * @return this walker
+     */
+    public SceneGraphWalker prune(Predicate<Node> prunePredicate) {
+        this.prunePredicate = prunePredicate;
+        return this;
+    }
+
+    /**
+     * Walks the scene graph below and including the given node and passes each node with its
+     * depth to the given visitor, whose result decides how the walk continues.
+     *
+     * @param rootNode the start node
+     * @param visitor the visitor
+     */
+    public void walk(Node rootNode,
+                     Visitor visitor) {
+        NodeStack stack = new NodeStack();
+        stack.push(rootNode, 0);
+        while (!stack.isEmpty()) {
+            int depth = stack.peekDepth();
+            Node node = stack.pop();
+            NodeQueryProfiler.recordVisitedNode();
+            if (prunePredicate.apply(node)) {
+                continue;
+            }
+            VisitResult result = visitor.visit(node, depth);
+            if (result == VisitResult.STOP) {
+                return;
+            }
+            if (result == VisitResult.CONTINUE) {
+                pushChildNodes(stack, node, depth);
+            }
+        }
+    }
+
+    /**
+     * Returns the nodes below and including the given node that match the given predicate.
+     *
+     * @param rootNode the start node
+     * @param predicate the predicate
+     * @return the matching nodes
+     */
+    public List<Node> collect(Node rootNode,
+                              Predicate<Node> predicate) {
+        return collect(rootNode, predicate, DEFAULT_RESULT_CAPACITY);
+    }
+
+    /**
+     * Returns the nodes below and including the given node that match the given predicate,
+     * collected into a list of the given initial capacity.
+     *
+     * @param rootNode the start node
+     * @param predicate the predicate
+     * @param expectedSize the expected number of matching nodes
+     * @return the matching nodes
+     */
+    public List<Node> collect(Node rootNode,
+                              Predicate<Node> predicate,
+                              int expectedSize) {
+        List<Node> resultNodes = new ArrayList<>(expectedSize);
+        walk(rootNode, (node, depth) -> {
+            if (predicate.apply(node)) {
+                resultNodes.add(node);
+            }
+            return VisitResult.CONTINUE;
+        });
+        return resultNodes;
+    }
+
+    /**
+     * Returns an iterator that walks the scene graph below and including the given node only as
+     * far as it is advanced.
+     *
+     * @param rootNode the start node
+     * @return the iterator
+     */
+    public Iterator<Node> iterator(Node rootNode) {
+        NodeStack stack = new NodeStack();
+        stack.push(rootNode, 0);
+        return new AbstractIterator<Node>() {
+            @Override
+            protected Node computeNext() {
+                while (!stack.isEmpty()) {
+                    int depth = stack.peekDepth();
+                    Node node = stack.pop();
+                    NodeQueryProfiler.recordVisitedNode();
+                    if (!prunePredicate.apply(node)) {
+                        pushChildNodes(stack, node, depth);
+                        return node;
+                    }
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private void pushChildNodes(NodeStack stack,
+                                Node node,
+                                int depth) {
+        if (depth >= maxDepth || !(node instanceof Parent)) {
+            return;
+        }
+        List<Node> childNodes = ((Parent) node).getChildrenUnmodifiable();
+        // push in reverse, so that the first child is visited first.
+        for (int index = childNodes.size() - 1; index >= 0; index--) {
+            stack.push(childNodes.get(index), depth + 1);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    public enum VisitResult {
+        /** Visit the children of the node. */
+        CONTINUE,
+        /** Do not visit the children of the node. */
+        SKIP_CHILDREN,
+        /** End the walk. */
+        STOP
+    }
+
+    public interface Visitor {
+        VisitResult visit(Node node,
+                          int depth);
+    }
+
+    private static class NodeStack {
+
+        private Node[] nodes = new Node[INITIAL_STACK_CAPACITY];
+        private int[] depths = new int[INITIAL_STACK_CAPACITY];
+        private int size = 0;
+
+        private void push(Node node,
+                          int depth) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                depths = Arrays.copyOf(depths, size * 2);
+            }
+            nodes[size] = node;
+            depths[size] = depth;
+            size++;
+        }
+
+        private Node pop() {
+            size--;
+            Node node = nodes[size];
+            nodes[size] = null;
+            return node;
+        }
+
+        private int peekDepth() {
+            return depths[size - 1];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+
+import org.testfx.api.annotation.Unstable;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The clock behind the sleeps of the robots and of {@link WaitForAsyncUtils#sleep}, including
+ * the delays between typed characters, keys, clicks and mouse move steps.
+ *
+ * <p>The clock is selected with the system property {@code testfx.sleep.clock}:</p>
+ *
+ * <ul>
+ * <li>{@code real} (default) sleeps the given duration.</li>
+ * <li>{@code scaled} sleeps the given duration multiplied by the system property
+ * {@code testfx.sleep.scale} (default {@code 0.1}).</li>
+ * <li>{@code idle} does not sleep, but waits for the JavaFX Application Thread to become idle,
+ * at most for the given duration. Events are still processed in order.</li>
+ * </ul>
+ */
+@Unstable(reason = "class was recently added")
+public abstract class SleepClock {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String PROPERTY_TESTFX_SLEEP_CLOCK = "testfx.sleep.clock";
+    private static final String PROPERTY_TESTFX_SLEEP_CLOCK_REAL = "real";
+    private static final String PROPERTY_TESTFX_SLEEP_CLOCK_SCALED = "scaled";
+    private static final String PROPERTY_TESTFX_SLEEP_CLOCK_IDLE = "idle";
+
+    private static final String PROPERTY_TESTFX_SLEEP_SCALE = "testfx.sleep.scale";
+    private static final String PROPERTY_TESTFX_SLEEP_SCALE_DEFAULT = "0.1";
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private static volatile SleepClock current = createClock(
+        System.getProperty(PROPERTY_TESTFX_SLEEP_CLOCK, PROPERTY_TESTFX_SLEEP_CLOCK_REAL)
+    );
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    public static SleepClock current() {
+        return current;
+    }
+
+    public static void setCurrent(SleepClock clock) {
+        current = clock;
+    }
+
+    /**
+     * Returns a clock that sleeps the given durations.
+     *
+     * @return the clock
+     */
+    public static SleepClock real() {
+        return new SleepClock() {
+            @Override
+            public void sleep(long duration,
+                              TimeUnit timeUnit)
+                       throws InterruptedException {
+                Thread.sleep(timeUnit.toMillis(duration));
+            }
+        };
+    }
+
+    /**
+     * Returns a clock that sleeps the given durations multiplied by the given factor.
+     *
+     * @param factor the factor
+     * @return the clock
+     */
+    public static SleepClock scaled(double factor) {
+        return new SleepClock() {
+            @Override
+            public void sleep(long duration,
+                              TimeUnit timeUnit)
+                       throws InterruptedException {
+                long nanos = (long) (timeUnit.toNanos(duration) * factor);
+                NANOSECONDS.sleep(nanos);
+            }
+        };
+    }
+
+    /**
+     * Returns a clock that waits for the JavaFX Application Thread to become idle instead of
+     * sleeping, at most for the given durations. On the JavaFX Application Thread it returns
+     * immediately.
+     *
+     * @return the clock
+     */
+    public static SleepClock fxIdle() {
+        return new SleepClock() {
+            @Override
+            public void sleep(long duration,
+                              TimeUnit timeUnit)
+                       throws InterruptedException {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (Platform.isFxApplicationThread()) {
+                    return;
+                }
+                try {
+                    WaitForAsyncUtils.waitForFxIdle(duration, timeUnit);
+                }
+                catch (IllegalStateException exception) {
+                    // if the JavaFX toolkit is not running, there are no events to wait for.
+                }
+            }
+        };
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Sleeps the given duration according to this clock.
+     *
+     * @param duration the duration
+     * @param timeUnit the time unit
+     * @throws InterruptedException
+     */
+    public abstract void sleep(long duration,
+                               TimeUnit timeUnit)
+                        throws InterruptedException;
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static SleepClock createClock(String clockName) {
+        switch (clockName) {
+            case PROPERTY_TESTFX_SLEEP_CLOCK_SCALED:
+                return scaled(Double.parseDouble(System.getProperty(
+                    PROPERTY_TESTFX_SLEEP_SCALE, PROPERTY_TESTFX_SLEEP_SCALE_DEFAULT
+                )));
+            case PROPERTY_TESTFX_SLEEP_CLOCK_IDLE:
+                return fxIdle();
+            case PROPERTY_TESTFX_SLEEP_CLOCK_REAL:
+                return real();
+            default:
+                throw new IllegalStateException("Unknown sleep clock " +
+                    "'" + PROPERTY_TESTFX_SLEEP_CLOCK + "=" + clockName + "'");
+        }
+    }
+
+}
@@ -16,23 +16,46 @@
  */
 package org.testfx.util;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.application.Platform;
-import javafx.beans.value.ChangeListener;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
 
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.testfx.api.annotation.Unstable;
 
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 @Unstable
 public class WaitForAsyncUtils {
@@ -43,19 +66,80 @@ public class WaitForAsyncUtils {
 
     private final static long CONDITION_SLEEP_IN_MILLIS = 10;
 
+    private final static long CONDITION_RECHECK_IN_MILLIS = 100;
+
     private final static long SEMAPHORE_SLEEP_IN_MILLIS = 10;
 
     private final static int SEMAPHORE_LOOPS_COUNT = 5;
 
+    private final static long FX_IDLE_TIMEOUT_IN_MILLIS = 50;
+
+    private final static long FX_IDLE_SLEEP_IN_MILLIS = 1;
+
+    private final static int FX_IDLE_QUIET_ROUND_TRIPS = 2;
+
+    private static final String PROPERTY_TESTFX_WAIT_CONDITION = "testfx.wait.condition";
+    private static final String PROPERTY_TESTFX_WAIT_CONDITION_POLL = "poll";
+    private static final String PROPERTY_TESTFX_WAIT_CONDITION_PULSE = "pulse";
+
+    private static final String PROPERTY_TESTFX_WAIT_FXEVENTS = "testfx.wait.fxevents";
+    private static final String PROPERTY_TESTFX_WAIT_FXEVENTS_LOOP = "loop";
+    private static final String PROPERTY_TESTFX_WAIT_FXEVENTS_IDLE = "idle";
+
+    private static final String PROPERTY_TESTFX_ASYNC_FX = "testfx.async.fx";
+    private static final String PROPERTY_TESTFX_ASYNC_FX_DIRECT = "direct";
+    private static final String PROPERTY_TESTFX_ASYNC_FX_COALESCE = "coalesce";
+
+    private static final String PROPERTY_TESTFX_ASYNC_THREADS = "testfx.async.threads";
+    private static final int PROPERTY_TESTFX_ASYNC_THREADS_DEFAULT = 32;
+
+    private static final String PROPERTY_TESTFX_ASYNC_QUEUE = "testfx.async.queue";
+    private static final int PROPERTY_TESTFX_ASYNC_QUEUE_DEFAULT = 1024;
+
     //---------------------------------------------------------------------------------------------
     // STATIC FIELDS.
     //---------------------------------------------------------------------------------------------
 
-    private static ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
-        Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        return thread;
-    });
+    private static final boolean conditionWaitOnPulse = PROPERTY_TESTFX_WAIT_CONDITION_PULSE.equals(
+        System.getProperty(PROPERTY_TESTFX_WAIT_CONDITION, PROPERTY_TESTFX_WAIT_CONDITION_POLL)
+    );
+
+    private static final boolean fxEventsWaitOnIdle = PROPERTY_TESTFX_WAIT_FXEVENTS_IDLE.equals(
+        System.getProperty(PROPERTY_TESTFX_WAIT_FXEVENTS, PROPERTY_TESTFX_WAIT_FXEVENTS_LOOP)
+    );
+
+    private static final boolean fxDispatchCoalescing = PROPERTY_TESTFX_ASYNC_FX_COALESCE.equals(
+        System.getProperty(PROPERTY_TESTFX_ASYNC_FX, PROPERTY_TESTFX_ASYNC_FX_DIRECT)
+    );
+
+    private static final AtomicLong fxSubmissionCount = new AtomicLong();
+
+    private static final Queue<Runnable> fxDispatchQueue = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicBoolean fxDispatchScheduled = new AtomicBoolean(false);
+
+    private static final ThreadLocal<List<Runnable>> fxBatch = new ThreadLocal<>();
+
+    private static final ThreadLocal<Long> waitDeadline = new ThreadLocal<>();
+
+    private static final Optional<Field> nodeCssFlagField = findNodeCssFlagField();
+
+    private static final AtomicLong cancelledCount = new AtomicLong();
+
+    private static ExecutorService executorService = new AsyncThreadPool("testfx-async",
+        Integer.getInteger(PROPERTY_TESTFX_ASYNC_THREADS, PROPERTY_TESTFX_ASYNC_THREADS_DEFAULT),
+        Integer.getInteger(PROPERTY_TESTFX_ASYNC_QUEUE, PROPERTY_TESTFX_ASYNC_QUEUE_DEFAULT)
+    );
+
+    private static final Executor fxExecutor = runnable -> {
+        fxSubmissionCount.incrementAndGet();
+        runOnFxThread(runnable);
+    };
+
+    private static final ScheduledExecutorService waiterExecutorService =
+        Executors.newSingleThreadScheduledExecutor(
+            AsyncThreadPool.createThreadFactory("testfx-waiter")
+        );
 
     //---------------------------------------------------------------------------------------------
     // STATIC METHODS.
@@ -85,7 +169,10 @@ public class WaitForAsyncUtils {
      */
     public static <T> Future<T> async(Callable<T> callable) {
         SettableFuture<T> future = SettableFuture.create();
-        runOnThread(() -> callCallableAndSetFuture(callable, future), executorService);
+        Future<?> task = runOnThread(
+            withCurrentDeadline(() -> callCallableAndSetFuture(callable, future)), executorService
+        );
+        future.addListener(() -> interruptTaskIfCancelled(future, task), directExecutor());
         return future;
     }
 
@@ -106,41 +193,279 @@ public class WaitForAsyncUtils {
      * Calls the given {@link Callable} on the JavaFX Application Thread at some unspecified time
      * in the future and returns a {@link Future} that is set on finish or error.
      *
+     * <p>If the system property {@code testfx.async.fx} is set to {@code coalesce}, calls made
+     * before the JavaFX Application Thread picked up the previous ones share a single
+     * {@link Platform#runLater(Runnable)}. See also {@link #batchFx(Runnable)}.</p>
+     *
      * @param callable the callable
      * @param <T> the callable type
      * @return a future
      */
     public static <T> Future<T> asyncFx(Callable<T> callable) {
         SettableFuture<T> future = SettableFuture.create();
+        fxSubmissionCount.incrementAndGet();
         runOnFxThread(() -> callCallableAndSetFuture(callable, future));
         return future;
     }
 
+    /**
+     * Runs the given {@link Runnable} on the current thread and collects all calls to
+     * {@link #asyncFx(Callable)} made by it, which are then run together in a single
+     * {@link Platform#runLater(Runnable)} once the runnable finished. The futures of the
+     * collected calls are still set individually. Nested calls join the outermost batch.
+     *
+     * <p>The runnable must not wait for any of the collected calls, since they are not run before
+     * it finished. Calls made on the JavaFX Application Thread are run immediately as usual.</p>
+     *
+     * @param runnable the runnable
+     */
+    public static void batchFx(Runnable runnable) {
+        if (fxBatch.get() != null) {
+            runnable.run();
+            return;
+        }
+        List<Runnable> batch = new ArrayList<>();
+        fxBatch.set(batch);
+        try {
+            runnable.run();
+        }
+        finally {
+            fxBatch.remove();
+            if (!batch.isEmpty()) {
+                Platform.runLater(() -> runAll(batch));
+            }
+        }
+    }
+
+    /**
+     * Evaluates the given condition {@link Callable} until it returns (pull) {@code true} and
+     * returns a {@link Future} that is set on success, error or timeout with
+     * {@link TimeoutException}. The condition is polled every 10 milliseconds.
+     *
+     * <p>Unlike {@link #async(Callable)}, waiting does not occupy a thread of its own: all
+     * waiters are evaluated on a single shared thread, so the condition should return quickly
+     * instead of blocking. Cancelling the returned future stops the evaluation.</p>
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     * @param condition the condition
+     * @return a future
+     */
+    public static Future<Void> asyncWaitFor(long timeout,
+                                            TimeUnit timeUnit,
+                                            Callable<Boolean> condition) {
+        SettableFuture<Void> future = SettableFuture.create();
+        long deadlineNanos = System.nanoTime() + limitTimeoutNanos(timeout, timeUnit);
+        waiterExecutorService.execute(() -> evaluateWaiter(condition, future, deadlineNanos));
+        return future;
+    }
+
+    // COMPLETION-STAGE METHODS.
+
+    /**
+     * Calls the given {@link Callable} on the executor service of {@link #async(Callable)} and
+     * returns a {@link CompletableFuture} that is completed on finish or error. Unlike
+     * {@link Future#get()}, the returned future can be chained with further stages without
+     * blocking a thread.
+     *
+     * @param callable the callable
+     * @param <T> the callable type
+     * @return a completable future
+     */
+    public static <T> CompletableFuture<T> asyncStage(Callable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task = runOnThread(
+            withCurrentDeadline(() -> callCallableAndCompleteFuture(callable, future)),
+            executorService
+        );
+        future.whenComplete((result, exception) -> interruptTaskIfCancelled(future, task));
+        return future;
+    }
+
+    /**
+     * Calls the given {@link Callable} on the JavaFX Application Thread at some unspecified time
+     * in the future and returns a {@link CompletableFuture} that is completed on finish or error.
+     *
+     * @param callable the callable
+     * @param <T> the callable type
+     * @return a completable future
+     */
+    public static <T> CompletableFuture<T> asyncFxStage(Callable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        fxExecutor.execute(() -> callCallableAndCompleteFuture(callable, future));
+        return future;
+    }
+
+    /**
+     * Returns an {@link Executor} that runs on the JavaFX Application Thread, to be used with the
+     * {@code *Async} methods of {@link CompletableFuture}. Runnables submitted from the JavaFX
+     * Application Thread are run immediately.
+     *
+     * @return the executor
+     */
+    public static Executor fxExecutor() {
+        return fxExecutor;
+    }
+
+    /**
+     * Returns an {@link Executor} that runs on the executor service of {@link #async(Callable)},
+     * to be used with the {@code *Async} methods of {@link CompletableFuture}. Like tasks of
+     * {@link #async(Callable)}, the runnables inherit the deadline of the thread that called this
+     * method.
+     *
+     * @return the executor
+     */
+    public static Executor asyncExecutor() {
+        Long deadlineNanos = waitDeadline.get();
+        return runnable -> executorService.execute(withDeadline(deadlineNanos, runnable));
+    }
+
+    /**
+     * Adapts the given {@link Future} to a {@link CompletableFuture}. Futures returned by
+     * {@link #async(Callable)} and {@link #asyncFx(Callable)} are adapted without blocking; any
+     * other future is waited for on the executor service of {@link #async(Callable)}.
+     *
+     * @param future the future
+     * @param <T> the future type
+     * @return a completable future
+     */
+    public static <T> CompletableFuture<T> toCompletableFuture(Future<T> future) {
+        if (future instanceof CompletableFuture) {
+            return (CompletableFuture<T>) future;
+        }
+        if (!(future instanceof ListenableFuture)) {
+            return asyncStage(() -> getUninterruptibly(future));
+        }
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        ((ListenableFuture<T>) future).addListener(() -> {
+            try {
+                completableFuture.complete(getUninterruptibly(future));
+            }
+            catch (Throwable exception) {
+                completableFuture.completeExceptionally(exception);
+            }
+        }, directExecutor());
+        return completableFuture;
+    }
+
+    // EXECUTOR METHODS.
+
+    /**
+     * Returns the {@link ExecutorService} used by {@link #async(Callable)}. By default this is an
+     * {@link AsyncThreadPool} whose number of threads and queue capacity are read from the system
+     * properties {@code testfx.async.threads} (32) and {@code testfx.async.queue} (1024).
+     *
+     * @return the executor service
+     */
+    public static ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Replaces the {@link ExecutorService} used by {@link #async(Callable)}. The previous
+     * executor service is not shut down.
+     *
+     * @param executorService the executor service
+     */
+    public static void setExecutorService(ExecutorService executorService) {
+        WaitForAsyncUtils.executorService = executorService;
+    }
+
+    /**
+     * Returns the number of futures that were cancelled because a wait for them timed out or was
+     * interrupted. A steadily growing count hints at tasks that outlive the tests waiting for them.
+     *
+     * @return the cancelled count
+     */
+    public static long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    // DEADLINE METHODS.
+
+    /**
+     * Sets a deadline for the current thread that lies the given timeout ahead. Until it is
+     * cleared with {@link #clearDeadline()}, every wait of this class on the current thread gives
+     * up at the deadline at the latest, and times out immediately once it has passed. Tasks
+     * submitted with {@link #async(Callable)} and {@link #asyncStage(Callable)} inherit the
+     * deadline of the submitting thread.
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     */
+    public static void setDeadline(long timeout,
+                                   TimeUnit timeUnit) {
+        waitDeadline.set(System.nanoTime() + timeUnit.toNanos(timeout));
+    }
+
+    /**
+     * Clears the deadline of the current thread.
+     */
+    public static void clearDeadline() {
+        waitDeadline.remove();
+    }
+
+    /**
+     * Returns the time left until the deadline of the current thread, which is negative once it
+     * has passed, or {@link Long#MAX_VALUE} if no deadline is set.
+     *
+     * @param timeUnit the time unit
+     * @return the remaining time
+     */
+    public static long remainingDeadline(TimeUnit timeUnit) {
+        Long deadlineNanos = waitDeadline.get();
+        if (deadlineNanos == null) {
+            return Long.MAX_VALUE;
+        }
+        return timeUnit.convert(deadlineNanos - System.nanoTime(), NANOSECONDS);
+    }
+
     // WAIT-FOR METHODS.
 
     /**
-     * Waits for given {@link Future} to be set (push) and returns {@code T}.
+     * Waits for given {@link Future} to be set (push) and returns {@code T}. If the current
+     * thread is interrupted while waiting, the future is cancelled and a
+     * {@link RuntimeException} is thrown with the interrupt flag restored.
+     *
      * @param future the future
      * @param <T> the future type
      * @return a result
      */
     public static <T> T waitFor(Future<T> future) {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
         try {
-            return future.get();
+            if (waitDeadline.get() == null) {
+                return future.get();
+            }
+            return future.get(limitTimeoutNanos(Long.MAX_VALUE, NANOSECONDS), NANOSECONDS);
+        }
+        catch (TimeoutException exception) {
+            // if the deadline of the current thread passed.
+            timedOut = true;
+            cancelFuture(future);
+            throw new RuntimeException(exception);
         }
         catch (ExecutionException exception) {
             // if the computation threw an exception.
             throw new RuntimeException(exception.getCause());
         }
-        catch (InterruptedException ignore) {
+        catch (InterruptedException exception) {
             // if the current thread was interrupted while waiting.
-            return null;
+            cancelFuture(future);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(exception);
+        }
+        finally {
+            WaitTelemetry.end("waitFor(Future)", telemetry, timedOut);
         }
     }
 
     /**
      * Waits for given {@link Future} to be set (push) and returns {@code T}, otherwise times out
-     * with {@link TimeoutException}.
+     * with {@link TimeoutException}. On timeout or interrupt the future is cancelled, so that a
+     * task of {@link #async(Callable)} or {@link #asyncFx(Callable)} that has not started yet is
+     * skipped and a running task of {@link #async(Callable)} is interrupted.
      *
      * @param timeout the timeout
      * @param timeUnit the time unit
@@ -153,16 +478,28 @@ public class WaitForAsyncUtils {
                                 TimeUnit timeUnit,
                                 Future<T> future)
                          throws TimeoutException {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
         try {
-            return future.get(timeout, timeUnit);
+            return future.get(limitTimeoutNanos(timeout, timeUnit), NANOSECONDS);
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            cancelFuture(future);
+            throw exception;
         }
         catch (ExecutionException exception) {
             // if the computation threw an exception.
             throw new RuntimeException(exception.getCause());
         }
-        catch (InterruptedException ignore) {
+        catch (InterruptedException exception) {
             // if the current thread was interrupted while waiting.
-            return null;
+            cancelFuture(future);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(exception);
+        }
+        finally {
+            WaitTelemetry.end("waitFor(timeout,Future)", telemetry, timedOut);
         }
     }
 
@@ -171,6 +508,11 @@ public class WaitForAsyncUtils {
      * out with {@link TimeoutException}. The condition will be evaluated at least once. The method
      * will wait for the last condition to finish after a timeout.
      *
+     * <p>The condition is polled every 10 milliseconds, unless the system property
+     * {@code testfx.wait.condition} is set to {@code pulse}, in which case it is re-evaluated
+     * after each pulse of the JavaFX Application Thread (see
+     * {@link #waitFor(long, TimeUnit, Callable, Observable...)}).</p>
+     *
      * @param timeout the timeout
      * @param timeUnit the time unit
      * @param condition the condition
@@ -180,13 +522,64 @@ public class WaitForAsyncUtils {
                                TimeUnit timeUnit,
                                Callable<Boolean> condition)
                         throws TimeoutException {
-        Stopwatch stopwatch = Stopwatch.createStarted();
-        while (!callConditionAndReturnResult(condition)) {
-            sleep(CONDITION_SLEEP_IN_MILLIS, MILLISECONDS);
-            if (stopwatch.elapsed(timeUnit) > timeout) {
-                throw new TimeoutException();
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            if (conditionWaitOnPulse) {
+                waitForSignalledCondition(timeout, timeUnit, condition);
+                return;
+            }
+            long timeoutNanos = limitTimeoutNanos(timeout, timeUnit);
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            while (!callConditionAndReturnResult(condition)) {
+                sleepUnscaled(CONDITION_SLEEP_IN_MILLIS);
+                if (stopwatch.elapsed(NANOSECONDS) > timeoutNanos) {
+                    throw new TimeoutException();
+                }
             }
         }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            throw exception;
+        }
+        finally {
+            WaitTelemetry.end("waitFor(timeout,Callable)", telemetry, timedOut);
+        }
+    }
+
+    /**
+     * Waits for given condition {@link Callable} to return (pull) {@code true}, otherwise times
+     * out with {@link TimeoutException}. Instead of polling, the condition is re-evaluated after
+     * each pulse of the JavaFX Application Thread and whenever one of the given
+     * {@link Observable}s is invalidated. As a safety net it is also re-evaluated every 100
+     * milliseconds, which covers conditions that change outside of the JavaFX Application Thread.
+     *
+     * <p>If the JavaFX toolkit is not running and no observables are given, this falls back to
+     * polling every 10 milliseconds.</p>
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     * @param condition the condition
+     * @param observables the observables that trigger a re-evaluation
+     * @throws TimeoutException
+     */
+    public static void waitFor(long timeout,
+                               TimeUnit timeUnit,
+                               Callable<Boolean> condition,
+                               Observable... observables)
+                        throws TimeoutException {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            waitForSignalledCondition(timeout, timeUnit, condition, observables);
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            throw exception;
+        }
+        finally {
+            WaitTelemetry.end("waitFor(timeout,Callable,Observable...)", telemetry, timedOut);
+        }
     }
 
     /**
@@ -202,17 +595,71 @@ public class WaitForAsyncUtils {
                                TimeUnit timeUnit,
                                ObservableBooleanValue booleanValue)
                         throws TimeoutException {
-        SettableFuture<Void> future = SettableFuture.create();
-        ChangeListener<Boolean> changeListener = (observable, oldValue, newValue) -> {
-            if (newValue) {
-                future.set(null);
-            }
-        };
-        booleanValue.addListener(changeListener);
-        if (!booleanValue.get()) {
-            waitFor(timeout, timeUnit, future);
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            waitForObservableCondition(timeout, timeUnit,
+                ObservableCondition.value(booleanValue, Boolean.TRUE::equals)
+            );
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            throw exception;
+        }
+        finally {
+            WaitTelemetry.end("waitFor(timeout,ObservableBooleanValue)", telemetry, timedOut);
+        }
+    }
+
+    /**
+     * Waits for the value of given {@link ObservableValue} to match (push) the given predicate,
+     * otherwise times out with {@link TimeoutException}.
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     * @param observableValue the observable
+     * @param predicate the predicate
+     * @param <T> the value type
+     * @throws TimeoutException
+     */
+    public static <T> void waitFor(long timeout,
+                                   TimeUnit timeUnit,
+                                   ObservableValue<T> observableValue,
+                                   Predicate<? super T> predicate)
+                            throws TimeoutException {
+        waitFor(timeout, timeUnit, ObservableCondition.value(observableValue, predicate));
+    }
+
+    /**
+     * Waits for given {@link ObservableCondition} to hold (push), otherwise times out with
+     * {@link TimeoutException}. The condition is evaluated once and then whenever one of its
+     * observables changes; several conditions can be combined with
+     * {@link ObservableCondition#anyOf} and {@link ObservableCondition#allOf}.
+     *
+     * <p>If the JavaFX toolkit is running, the listeners are added and removed on the JavaFX
+     * Application Thread. They are always removed, also on timeout.</p>
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     * @param condition the condition
+     * @throws TimeoutException
+     */
+    public static void waitFor(long timeout,
+                               TimeUnit timeUnit,
+                               ObservableCondition condition)
+                        throws TimeoutException {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            waitForObservableCondition(timeout, timeUnit, condition);
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+            throw exception;
+        }
+        finally {
+            WaitTelemetry.end("waitFor(timeout,ObservableCondition)", telemetry, timedOut);
         }
-        booleanValue.removeListener(changeListener);
     }
 
     // WAIT-FOR-FX-EVENTS METHODS.
@@ -220,9 +667,28 @@ public class WaitForAsyncUtils {
     /**
      * Waits for the event queue of JavaFX Application Thread to be completed, as well as any new
      * events triggered in it.
+     *
+     * <p>By default this uses the fixed loop of {@link #waitForFxEvents(int)}. Setting the system
+     * property {@code testfx.wait.fxevents} to {@code idle} waits for the JavaFX Application
+     * Thread to become idle instead (see {@link #waitForFxIdle(long, TimeUnit)}), and falls back
+     * to the fixed loop if it does not become idle within 50 milliseconds, e.g. because of a
+     * running animation.</p>
      */
     public static void waitForFxEvents() {
-        waitForFxEvents(SEMAPHORE_LOOPS_COUNT);
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            boolean idle = fxEventsWaitOnIdle &&
+                waitForFxIdle(FX_IDLE_TIMEOUT_IN_MILLIS, MILLISECONDS);
+            if (!idle) {
+                // an idle wait that ran out falls back to the loop, which is only a timeout if the
+                // deadline cut it short.
+                timedOut = !blockFxThreadRepeatedly(SEMAPHORE_LOOPS_COUNT);
+            }
+        }
+        finally {
+            WaitTelemetry.end("waitForFxEvents()", telemetry, timedOut);
+        }
     }
 
     /**
@@ -232,16 +698,44 @@ public class WaitForAsyncUtils {
      * @param attemptsCount the attempts
      */
     public static void waitForFxEvents(int attemptsCount) {
-        for (int attempt = 0; attempt < attemptsCount; attempt++) {
-            blockFxThreadWithSemaphore();
-            sleep(SEMAPHORE_SLEEP_IN_MILLIS, MILLISECONDS);
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
+        try {
+            timedOut = !blockFxThreadRepeatedly(attemptsCount);
+        }
+        finally {
+            WaitTelemetry.end("waitForFxEvents(attempts)", telemetry, timedOut);
+        }
+    }
+
+    /**
+     * Waits for the JavaFX Application Thread to become idle, otherwise gives up after the given
+     * timeout. The thread is considered idle after consecutive round trips through its event
+     * queue during which the queue drained, neither layout nor CSS was pending in any showing
+     * window and no new {@code asyncFx} calls happened. Pulses alone, e.g. of a running
+     * animation, do not prevent the thread from becoming idle.
+     *
+     * @param timeout the timeout
+     * @param timeUnit the time unit
+     * @return whether the JavaFX Application Thread became idle before the timeout
+     */
+    public static boolean waitForFxIdle(long timeout,
+                                        TimeUnit timeUnit) {
+        long telemetry = WaitTelemetry.begin();
+        boolean idle = false;
+        try {
+            idle = awaitFxIdle(timeout, timeUnit);
+            return idle;
+        }
+        finally {
+            WaitTelemetry.end("waitForFxIdle(timeout)", telemetry, !idle);
         }
     }
 
     // SLEEP METHODS.
 
     /**
-     * Sleeps the given duration.
+     * Sleeps the given duration according to the current {@link SleepClock}.
      *
      * @param duration the duration
      * @param timeUnit the time unit
@@ -255,7 +749,7 @@ public class WaitForAsyncUtils {
     }
 
     /**
-     * Sleeps the given duration.
+     * Sleeps the given duration according to the current {@link SleepClock}.
      *
      * @param duration the duration
      * @param timeUnit the time unit
@@ -264,7 +758,7 @@ public class WaitForAsyncUtils {
     public static void sleepWithException(long duration,
                                           TimeUnit timeUnit)
                                    throws InterruptedException {
-        Thread.sleep(timeUnit.toMillis(duration));
+        SleepClock.current().sleep(duration, timeUnit);
     }
 
     // WAIT-FOR-ASYNC METHODS.
@@ -279,7 +773,7 @@ public class WaitForAsyncUtils {
     public static void waitForAsync(long millis,
                                     Runnable runnable) {
         Future<Void> future = async(runnable);
-        waitForMillis(millis, future);
+        waitForMillis("waitForAsync(millis,Runnable)", millis, future);
     }
 
     /**
@@ -295,7 +789,7 @@ public class WaitForAsyncUtils {
     public static <T> T waitForAsync(long millis,
                                      Callable<T> callable) {
         Future<T> future = async(callable);
-        return waitForMillis(millis, future);
+        return waitForMillis("waitForAsync(millis,Callable)", millis, future);
     }
 
     /**
@@ -309,7 +803,7 @@ public class WaitForAsyncUtils {
     public static void waitForAsyncFx(long millis,
                                       Runnable runnable) {
         Future<Void> future = asyncFx(runnable);
-        waitForMillis(millis, future);
+        waitForMillis("waitForAsyncFx(millis,Runnable)", millis, future);
     }
 
     /**
@@ -325,26 +819,89 @@ public class WaitForAsyncUtils {
     public static <T> T waitForAsyncFx(long millis,
                                        Callable<T> callable) {
         Future<T> future = asyncFx(callable);
-        return waitForMillis(millis, future);
+        return waitForMillis("waitForAsyncFx(millis,Callable)", millis, future);
     }
 
     //---------------------------------------------------------------------------------------------
     // PRIVATE STATIC METHODS.
     //---------------------------------------------------------------------------------------------
 
-    private static <T> T waitForMillis(long millis,
+    private static <T> T waitForMillis(String method,
+                                       long millis,
                                        Future<T> future) {
+        long telemetry = WaitTelemetry.begin();
+        boolean timedOut = false;
         try {
             return waitFor(millis, MILLISECONDS, future);
         }
         catch (TimeoutException exception) {
+            timedOut = true;
+            throw new RuntimeException(exception);
+        }
+        finally {
+            WaitTelemetry.end(method, telemetry, timedOut);
+        }
+    }
+
+    private static Future<?> runOnThread(Runnable runnable,
+                                         ExecutorService executorService) {
+        return executorService.submit(runnable);
+    }
+
+    private static void interruptTaskIfCancelled(Future<?> future,
+                                                 Future<?> task) {
+        if (future.isCancelled()) {
+            task.cancel(true);
+        }
+    }
+
+    private static void cancelFuture(Future<?> future) {
+        if (future.cancel(true)) {
+            cancelledCount.incrementAndGet();
+        }
+    }
+
+    private static void sleepUnscaled(long millis) {
+        // polling intervals are not delays of the test, so they ignore the sleep clock.
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(exception);
         }
     }
 
-    private static void runOnThread(Runnable runnable,
-                                    ExecutorService executorService) {
-        executorService.submit(runnable);
+    private static long limitTimeoutNanos(long timeout,
+                                          TimeUnit timeUnit) {
+        long timeoutNanos = timeUnit.toNanos(timeout);
+        Long deadlineNanos = waitDeadline.get();
+        if (deadlineNanos == null) {
+            return timeoutNanos;
+        }
+        return Math.max(0, Math.min(timeoutNanos, deadlineNanos - System.nanoTime()));
+    }
+
+    private static Runnable withCurrentDeadline(Runnable runnable) {
+        return withDeadline(waitDeadline.get(), runnable);
+    }
+
+    private static Runnable withDeadline(Long deadlineNanos,
+                                         Runnable runnable) {
+        if (deadlineNanos == null) {
+            return runnable;
+        }
+        return () -> {
+            // pooled threads are reused, so restore whatever deadline was set before.
+            Long previousDeadlineNanos = waitDeadline.get();
+            waitDeadline.set(deadlineNanos);
+            try {
+                runnable.run();
+            }
+            finally {
+                waitDeadline.set(previousDeadlineNanos);
+            }
+        };
     }
 
     private static void runOnFxThread(Runnable runnable) {
@@ -352,13 +909,66 @@ public class WaitForAsyncUtils {
         if (Platform.isFxApplicationThread()) {
             runnable.run();
         }
+        else if (fxBatch.get() != null) {
+            fxBatch.get().add(runnable);
+        }
+        else if (fxDispatchCoalescing) {
+            dispatchOnFxThread(runnable);
+        }
+        else {
+            Platform.runLater(runnable);
+        }
+    }
+
+    private static void runOnFxThreadUnbatched(Runnable runnable) {
+        // round trips must not be held back by an open batchFx() scope of the waiting thread.
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+        }
         else {
             Platform.runLater(runnable);
         }
     }
 
+    private static void dispatchOnFxThread(Runnable runnable) {
+        // runnables queued until the scheduled drain starts share its single runLater.
+        fxDispatchQueue.add(runnable);
+        if (fxDispatchScheduled.compareAndSet(false, true)) {
+            Platform.runLater(WaitForAsyncUtils::drainFxDispatchQueue);
+        }
+    }
+
+    private static void drainFxDispatchQueue() {
+        fxDispatchScheduled.set(false);
+        Runnable runnable;
+        while ((runnable = fxDispatchQueue.poll()) != null) {
+            runSafely(runnable);
+        }
+    }
+
+    private static void runAll(List<Runnable> runnables) {
+        for (Runnable runnable : runnables) {
+            runSafely(runnable);
+        }
+    }
+
+    private static void runSafely(Runnable runnable) {
+        // one failing runnable must not prevent the others of a batch from running.
+        try {
+            runnable.run();
+        }
+        catch (Throwable exception) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+        }
+    }
+
     private static <T> void callCallableAndSetFuture(Callable<T> callable,
                                                      SettableFuture<T> future) {
+        if (future.isCancelled()) {
+            // if the waiting thread gave up before the task started.
+            return;
+        }
         try {
             future.set(callable.call());
         }
@@ -367,6 +977,67 @@ public class WaitForAsyncUtils {
         }
     }
 
+    private static void evaluateWaiter(Callable<Boolean> condition,
+                                       SettableFuture<Void> future,
+                                       long deadlineNanos) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            if (condition.call()) {
+                future.set(null);
+            }
+            else if (System.nanoTime() - deadlineNanos > 0) {
+                future.setException(new TimeoutException());
+            }
+            else {
+                waiterExecutorService.schedule(
+                    () -> evaluateWaiter(condition, future, deadlineNanos),
+                    CONDITION_SLEEP_IN_MILLIS, MILLISECONDS
+                );
+            }
+        }
+        catch (Throwable exception) {
+            future.setException(exception);
+        }
+    }
+
+    private static <T> void callCallableAndCompleteFuture(Callable<T> callable,
+                                                          CompletableFuture<T> future) {
+        if (future.isCancelled()) {
+            // if the waiting thread gave up before the task started.
+            return;
+        }
+        try {
+            future.complete(callable.call());
+        }
+        catch (Throwable exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    private static <T> T getUninterruptibly(Future<T> future)
+                                     throws Exception {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        }
+        catch (ExecutionException exception) {
+            // unwrap, so that dependent stages see the original cause.
+            throw propagateCause(exception);
+        }
+    }
+
+    private static Exception propagateCause(ExecutionException exception) {
+        Throwable cause = exception.getCause();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return exception;
+    }
+
     private static boolean callConditionAndReturnResult(Callable<Boolean> condition) {
         try {
             return condition.call();
@@ -376,13 +1047,243 @@ public class WaitForAsyncUtils {
         }
     }
 
-    private static void blockFxThreadWithSemaphore() {
+    private static void waitForSignalledCondition(long timeout,
+                                                  TimeUnit timeUnit,
+                                                  Callable<Boolean> condition,
+                                                  Observable... observables)
+                                           throws TimeoutException {
+        Semaphore signal = new Semaphore(0);
+        Runnable pulseListener = signal::release;
+        InvalidationListener invalidationListener = observable -> signal.release();
+        boolean observingPulses = PulseUtils.addPulseListener(pulseListener);
+        for (Observable observable : observables) {
+            observable.addListener(invalidationListener);
+        }
+        long recheckMillis = (observingPulses || observables.length > 0) ?
+            CONDITION_RECHECK_IN_MILLIS : CONDITION_SLEEP_IN_MILLIS;
+        try {
+            long timeoutMillis = NANOSECONDS.toMillis(limitTimeoutNanos(timeout, timeUnit));
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            while (!callConditionAndReturnResult(condition)) {
+                long remainingMillis = timeoutMillis - stopwatch.elapsed(MILLISECONDS);
+                if (remainingMillis < 0) {
+                    throw new TimeoutException();
+                }
+                awaitSignal(signal, Math.min(remainingMillis, recheckMillis) + 1);
+            }
+        }
+        finally {
+            PulseUtils.removePulseListener(pulseListener);
+            for (Observable observable : observables) {
+                observable.removeListener(invalidationListener);
+            }
+        }
+    }
+
+    private static void waitForObservableCondition(long timeout,
+                                                   TimeUnit timeUnit,
+                                                   ObservableCondition condition)
+                                            throws TimeoutException {
+        SettableFuture<Void> future = SettableFuture.create();
+        Runnable listener = () -> testConditionAndSetFuture(condition, future);
+        List<Runnable> removeListener = new ArrayList<>(1);
+        // registering the listener on a busy thread counts against the timeout of the caller.
+        long timeoutNanos = limitTimeoutNanos(timeout, timeUnit);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        boolean registered = false;
+        try {
+            runOnFxThreadAndWait(() -> {
+                removeListener.add(condition.addListener(listener));
+                listener.run();
+            }, timeoutNanos);
+            registered = true;
+            long remainingNanos = Math.max(0, timeoutNanos - stopwatch.elapsed(NANOSECONDS));
+            waitFor(remainingNanos, NANOSECONDS, future);
+        }
+        finally {
+            if (registered) {
+                removeListenerOnFxThread(removeListener);
+            }
+            else {
+                // a registration that timed out still runs later, so queue the removal behind it.
+                runOnFxThreadUnbatched(() -> removeListener.forEach(Runnable::run));
+            }
+        }
+    }
+
+    private static void testConditionAndSetFuture(ObservableCondition condition,
+                                                  SettableFuture<Void> future) {
+        try {
+            if (condition.test()) {
+                future.set(null);
+            }
+        }
+        catch (Throwable exception) {
+            future.setException(exception);
+        }
+    }
+
+    private static void removeListenerOnFxThread(List<Runnable> removeListener) {
+        try {
+            runOnFxThreadAndWait(() -> removeListener.forEach(Runnable::run),
+                limitTimeoutNanos(Long.MAX_VALUE, NANOSECONDS));
+        }
+        catch (TimeoutException ignore) {
+            // the removal is queued behind the registration and still runs once the thread is free.
+        }
+    }
+
+    private static void runOnFxThreadAndWait(Runnable runnable,
+                                             long timeoutNanos)
+                                      throws TimeoutException {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+            return;
+        }
+        SettableFuture<Void> future = SettableFuture.create();
+        try {
+            Callable<Void> callable = Executors.callable(runnable, null);
+            Platform.runLater(() -> callCallableAndSetFuture(callable, future));
+        }
+        catch (IllegalStateException exception) {
+            // if the JavaFX toolkit is not running, there is no thread to confine the listeners to.
+            runnable.run();
+            return;
+        }
+        try {
+            Uninterruptibles.getUninterruptibly(future, timeoutNanos, NANOSECONDS);
+        }
+        catch (ExecutionException exception) {
+            throw new RuntimeException(exception.getCause());
+        }
+    }
+
+    private static void awaitSignal(Semaphore signal,
+                                    long millis) {
+        try {
+            signal.tryAcquire(millis, MILLISECONDS);
+            // coalesce all signals that arrived in the meantime into one re-evaluation.
+            signal.drainPermits();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private static boolean awaitFxIdle(long timeout,
+                                       TimeUnit timeUnit) {
+        long timeoutNanos = limitTimeoutNanos(timeout, timeUnit);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        int quietRoundTrips = 0;
+        while (true) {
+            long submissionCount = fxSubmissionCount.get();
+            long remainingNanos = Math.max(0, timeoutNanos - stopwatch.elapsed(NANOSECONDS));
+            boolean layoutPending = blockFxThreadAndCheckLayoutPending(remainingNanos);
+            boolean quiet = !layoutPending && submissionCount == fxSubmissionCount.get();
+            quietRoundTrips = quiet ? quietRoundTrips + 1 : 0;
+            if (quietRoundTrips >= FX_IDLE_QUIET_ROUND_TRIPS) {
+                return true;
+            }
+            if (Platform.isFxApplicationThread()) {
+                // the event queue can not drain while we are blocking it.
+                return quiet;
+            }
+            if (stopwatch.elapsed(NANOSECONDS) > timeoutNanos ||
+                    Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (!quiet) {
+                sleepUnscaled(FX_IDLE_SLEEP_IN_MILLIS);
+            }
+        }
+    }
+
+    private static boolean blockFxThreadAndCheckLayoutPending(long timeoutNanos) {
         Semaphore semaphore = new Semaphore(0);
-        runOnFxThread(semaphore::release);
+        AtomicBoolean layoutPending = new AtomicBoolean();
+        runOnFxThreadUnbatched(() -> {
+            try {
+                layoutPending.set(isLayoutPending());
+            }
+            finally {
+                semaphore.release();
+            }
+        });
         try {
-            semaphore.acquire();
+            if (!semaphore.tryAcquire(timeoutNanos, NANOSECONDS)) {
+                // a thread that did not respond in time is not idle.
+                return true;
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+        return layoutPending.get();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isLayoutPending() {
+        Iterator<Window> windows = Window.impl_getWindows();
+        while (windows.hasNext()) {
+            Window window = windows.next();
+            Scene scene = window.getScene();
+            Parent root = (scene != null) ? scene.getRoot() : null;
+            if (window.isShowing() && root != null &&
+                    (root.isNeedsLayout() || isCssPending(root))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCssPending(Parent root) {
+        // the css flag of the root is not clean while any node of the scene needs a css update.
+        if (!nodeCssFlagField.isPresent()) {
+            return false;
+        }
+        try {
+            return !"CLEAN".equals(String.valueOf(nodeCssFlagField.get().get(root)));
+        }
+        catch (IllegalAccessException exception) {
+            return false;
+        }
+    }
+
+    private static Optional<Field> findNodeCssFlagField() {
+        try {
+            Field field = Node.class.getDeclaredField("cssFlag");
+            field.setAccessible(true);
+            return Optional.of(field);
+        }
+        catch (NoSuchFieldException | SecurityException exception) {
+            return Optional.absent();
+        }
+    }
+
+    private static boolean blockFxThreadRepeatedly(int attemptsCount) {
+        for (int attempt = 0; attempt < attemptsCount; attempt++) {
+            if (!blockFxThreadWithSemaphore()) {
+                // the deadline passed while the JavaFX Application Thread was busy.
+                return false;
+            }
+            sleepUnscaled(SEMAPHORE_SLEEP_IN_MILLIS);
+        }
+        return true;
+    }
+
+    private static boolean blockFxThreadWithSemaphore() {
+        Semaphore semaphore = new Semaphore(0);
+        runOnFxThreadUnbatched(semaphore::release);
+        try {
+            long timeoutNanos = limitTimeoutNanos(Long.MAX_VALUE, NANOSECONDS);
+            return semaphore.tryAcquire(timeoutNanos, NANOSECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return true;
         }
-        catch (InterruptedException ignore) {}
     }
 
 }
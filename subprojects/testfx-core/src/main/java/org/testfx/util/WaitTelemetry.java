@@ -0,0 +1,297 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.testfx.api.annotation.Unstable;
+
+/**
+ * Records the durations, timeouts and timeout call sites of waits as per-method histograms.
+ *
+ * <p>Recording is disabled by default and can be enabled with the system property
+ * {@code testfx.wait.telemetry} or with {@link #setEnabled(boolean)}. If the system property
+ * {@code testfx.wait.telemetry.file} is set, the recorded data is written as JSON to that file
+ * when the JVM exits.</p>
+ *
+ * <p>Waits that are nested in another wait on the same thread are attributed to the outermost
+ * wait and not recorded separately. Apart from the first wait of a method and the call site of
+ * a timeout, recording does not allocate.</p>
+ */
+@Unstable(reason = "class was recently added")
+public final class WaitTelemetry {
+
+    //---------------------------------------------------------------------------------------------
+    // CONSTANTS.
+    //---------------------------------------------------------------------------------------------
+
+    private static final String PROPERTY_TESTFX_WAIT_TELEMETRY = "testfx.wait.telemetry";
+    private static final String PROPERTY_TESTFX_WAIT_TELEMETRY_FILE = "testfx.wait.telemetry.file";
+
+    private static final long NOT_RECORDED = Long.MIN_VALUE;
+
+    private static final int BUCKET_COUNT = 40;
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY_TESTFX_WAIT_TELEMETRY);
+
+    private static final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<int[]> waitDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    static {
+        String file = System.getProperty(PROPERTY_TESTFX_WAIT_TELEMETRY_FILE);
+        if (file != null) {
+            Thread thread = new Thread(() -> writeJsonFile(file), "testfx-wait-telemetry");
+            Runtime.getRuntime().addShutdownHook(thread);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CONSTRUCTORS.
+    //---------------------------------------------------------------------------------------------
+
+    private WaitTelemetry() {
+        throw new UnsupportedOperationException();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Returns whether waits are recorded.
+     *
+     * @return whether recording is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording of waits. Waits that already began are recorded according to
+     * the setting at their start.
+     *
+     * @param enabled whether recording is enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        WaitTelemetry.enabled = enabled;
+    }
+
+    /**
+     * Marks the start of a wait and returns a token to be passed to
+     * {@link #end(String, long, boolean)}, which must be called in a {@code finally} block.
+     *
+     * @return the token
+     */
+    public static long begin() {
+        if (!enabled) {
+            return NOT_RECORDED;
+        }
+        int[] depth = waitDepth.get();
+        depth[0]++;
+        return (depth[0] == 1) ? System.nanoTime() : NOT_RECORDED + 1;
+    }
+
+    /**
+     * Marks the end of a wait started with {@link #begin()}.
+     *
+     * @param method the name of the waiting method
+     * @param token the token returned by {@link #begin()}
+     * @param timedOut whether the wait timed out
+     */
+    public static void end(String method,
+                           long token,
+                           boolean timedOut) {
+        if (token == NOT_RECORDED) {
+            return;
+        }
+        waitDepth.get()[0]--;
+        if (token == NOT_RECORDED + 1) {
+            return;
+        }
+        long durationMicros = (System.nanoTime() - token) / 1000;
+        Histogram histogram = histograms.computeIfAbsent(method, key -> new Histogram());
+        histogram.record(durationMicros);
+        if (timedOut) {
+            histogram.recordTimeout(findCallSite());
+        }
+    }
+
+    /**
+     * Discards all recorded data.
+     */
+    public static void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Returns the number of recorded waits of the given method.
+     *
+     * @param method the name of the waiting method
+     * @return the count
+     */
+    public static long count(String method) {
+        Histogram histogram = histograms.get(method);
+        return (histogram == null) ? 0 : histogram.count.get();
+    }
+
+    /**
+     * Returns the number of recorded timeouts of the given method.
+     *
+     * @param method the name of the waiting method
+     * @return the timeout count
+     */
+    public static long timeoutCount(String method) {
+        Histogram histogram = histograms.get(method);
+        return (histogram == null) ? 0 : histogram.timeouts.get();
+    }
+
+    /**
+     * Returns the recorded data as JSON. Bucket {@code "<N"} of a histogram counts the waits that
+     * took less than {@code N} microseconds but at least the bound of the previous bucket.
+     *
+     * @return the json
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"waits\":{");
+        String separator = "";
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            json.append(separator);
+            appendString(json, entry.getKey());
+            json.append(':');
+            entry.getValue().appendJson(json);
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE STATIC METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static String findCallSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            String className = element.getClassName();
+            if (!className.startsWith(WaitTelemetry.class.getName()) &&
+                    !className.startsWith(WaitForAsyncUtils.class.getName()) &&
+                    !className.startsWith("org.testfx.api.FxToolkit")) {
+                return element.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    private static void writeJsonFile(String file) {
+        try (Writer writer = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private static void appendString(StringBuilder json,
+                                     String string) {
+        json.append('"');
+        for (char character : string.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            }
+            else if (character < 0x20) {
+                json.append(String.format("\\u%04x", (int) character));
+            }
+            else {
+                json.append(character);
+            }
+        }
+        json.append('"');
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // PRIVATE CLASSES.
+    //---------------------------------------------------------------------------------------------
+
+    private static class Histogram {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final ConcurrentMap<String, AtomicLong> timeoutCallSites =
+            new ConcurrentHashMap<>();
+
+        private void record(long durationMicros) {
+            count.incrementAndGet();
+            totalMicros.addAndGet(durationMicros);
+            long max = maxMicros.get();
+            while (durationMicros > max && !maxMicros.compareAndSet(max, durationMicros)) {
+                max = maxMicros.get();
+            }
+            int bucket = Math.min(64 - Long.numberOfLeadingZeros(durationMicros), BUCKET_COUNT - 1);
+            buckets.incrementAndGet(bucket);
+        }
+
+        private void recordTimeout(String callSite) {
+            timeouts.incrementAndGet();
+            timeoutCallSites.computeIfAbsent(callSite, key -> new AtomicLong()).incrementAndGet();
+        }
+
+        private void appendJson(StringBuilder json) {
+            json.append("{\"count\":").append(count.get());
+            json.append(",\"timeouts\":").append(timeouts.get());
+            json.append(",\"totalMicros\":").append(totalMicros.get());
+            json.append(",\"maxMicros\":").append(maxMicros.get());
+            json.append(",\"histogramMicros\":{");
+            String separator = "";
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                long bucketCount = buckets.get(bucket);
+                if (bucketCount > 0) {
+                    json.append(separator).append("\"<").append(1L << bucket).append("\":");
+                    json.append(bucketCount);
+                    separator = ",";
+                }
+            }
+            json.append("},\"timeoutCallSites\":{");
+            separator = "";
+            for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(timeoutCallSites).entrySet()) {
+                json.append(separator);
+                appendString(json, entry.getKey());
+                json.append(':').append(entry.getValue().get());
+                separator = ",";
+            }
+            json.append("}}");
+        }
+
+    }
+
+}
@@ -90,6 +90,26 @@ public class ListViewMatchersTest extends FxRobot {
         assertThat(listView, ListViewMatchers.hasListCell("foobar"));
     }
 
+    @Test
+    public void hasItem_without_rendered_cell() {
+        // given:
+        for (int index = 0; index < 1000; index++) {
+            listView.getItems().add("item " + index);
+        }
+
+        // expect:
+        assertThat(listView, ListViewMatchers.hasItem("item 999"));
+    }
+
+    @Test
+    public void hasItem_fails() {
+        // expect:
+        exception.expect(AssertionError.class);
+        exception.expectMessage("Expected: ListView has item \"foobar\"\n");
+
+        assertThat(listView, ListViewMatchers.hasItem("foobar"));
+    }
+
     @Test
     public void hasItems() {
         // expect:
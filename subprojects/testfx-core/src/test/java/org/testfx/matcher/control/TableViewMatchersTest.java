@@ -33,6 +33,7 @@ import org.testfx.api.FxToolkit;
 
 import static javafx.collections.FXCollections.observableArrayList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
 
 public class TableViewMatchersTest extends FxRobot {
 
@@ -112,6 +113,26 @@ public class TableViewMatchersTest extends FxRobot {
         assertThat(tableView, TableViewMatchers.hasTableCell(null));
     }
 
+    @Test
+    public void hasCellValue() {
+        // expect:
+        assertThat(tableView, TableViewMatchers.hasCellValue("carol"));
+        assertThat(tableView, TableViewMatchers.hasCellValue("30"));
+    }
+
+    @Test
+    public void hasCellValue_after_item_change() {
+        // given:
+        assertThat(tableView, TableViewMatchers.hasCellValue("alice"));
+
+        // when:
+        tableView.getItems().set(0, ImmutableMap.of("name", "erin"));
+
+        // then:
+        assertThat(tableView, TableViewMatchers.hasCellValue("erin"));
+        assertThat(tableView, not(TableViewMatchers.hasCellValue("alice")));
+    }
+
     @Test
     public void hasItems() {
         // expect:
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.matcher.control;
+
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import javafx.scene.layout.StackPane;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.testfx.api.FxRobot;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TreeViewMatchersTest extends FxRobot {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    public TreeView<String> treeView;
+
+    public TreeItem<String> bobItem;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.setupSceneRoot(() -> {
+            bobItem = new TreeItem<>("bob");
+            bobItem.getChildren().add(new TreeItem<>("carol"));
+            TreeItem<String> rootItem = new TreeItem<>("alice");
+            rootItem.getChildren().addAll(bobItem, new TreeItem<>("dave"));
+            rootItem.setExpanded(true);
+            treeView = new TreeView<>(rootItem);
+            return new StackPane(treeView);
+        });
+        FxToolkit.showStage();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void hasTreeItem_collapsed() {
+        // expect:
+        assertThat(treeView, TreeViewMatchers.hasTreeItem("carol"));
+    }
+
+    @Test
+    public void hasTreeItem_fails() {
+        // expect:
+        exception.expect(AssertionError.class);
+        exception.expectMessage("Expected: TreeView has tree item \"foobar\"\n");
+
+        assertThat(treeView, TreeViewMatchers.hasTreeItem("foobar"));
+    }
+
+    @Test
+    public void hasTreeItemAtRow_after_expand() {
+        // given:
+        assertThat(treeView, TreeViewMatchers.hasTreeItemAtRow("dave", 2));
+
+        // when:
+        bobItem.setExpanded(true);
+
+        // then:
+        assertThat(treeView, TreeViewMatchers.hasTreeItemAtRow("carol", 2));
+        assertThat(treeView, TreeViewMatchers.hasTreeItemAtRow("dave", 3));
+    }
+
+}
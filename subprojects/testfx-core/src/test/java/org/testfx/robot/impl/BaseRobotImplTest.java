@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot.impl;
+
+import javafx.geometry.Point2D;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.robot.BaseRobot;
+import org.testfx.service.adapter.RobotAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public final class BaseRobotImplTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    public BaseRobot baseRobot;
+
+    public RobotAdapter robotAdapter;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Before
+    public void setup() {
+        robotAdapter = mock(RobotAdapter.class);
+        baseRobot = new BaseRobotImpl(robotAdapter);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void retrieveMouse_retrieves_location_from_adapter() {
+        // given:
+        given(robotAdapter.getMouseLocation()).willReturn(new Point2D(10, 20));
+
+        // when:
+        Point2D location = baseRobot.retrieveMouse();
+
+        // then:
+        assertThat(location, is(new Point2D(10, 20)));
+        verify(robotAdapter, times(1)).getMouseLocation();
+    }
+
+    @Test
+    public void retrieveMouse_after_cursor_was_moved_elsewhere() {
+        // given:
+        baseRobot.moveMouse(new Point2D(10, 20));
+
+        // when:
+        given(robotAdapter.getMouseLocation()).willReturn(new Point2D(30, 40));
+
+        // then:
+        assertThat(baseRobot.retrieveMouse(), is(new Point2D(30, 40)));
+    }
+
+    @Test
+    public void moveMouse_does_not_skip_move_of_other_robot() {
+        // given:
+        baseRobot.moveMouse(new Point2D(10, 20));
+        BaseRobot otherBaseRobot = new BaseRobotImpl(robotAdapter);
+        given(robotAdapter.getMouseLocation()).willReturn(new Point2D(30, 40));
+        otherBaseRobot.moveMouse(new Point2D(30, 40));
+
+        // when:
+        baseRobot.moveMouse(new Point2D(10, 20));
+
+        // then:
+        verify(robotAdapter, times(2)).mouseMove(new Point2D(10, 20));
+        verify(robotAdapter, times(1)).mouseMove(new Point2D(30, 40));
+    }
+
+    @Test
+    public void moveMouse_skips_move_to_current_location() {
+        // given:
+        baseRobot.moveMouse(new Point2D(10, 20));
+        given(robotAdapter.getMouseLocation()).willReturn(new Point2D(10, 20));
+
+        // when:
+        baseRobot.moveMouse(new Point2D(10, 20));
+
+        // then:
+        verify(robotAdapter, times(1)).mouseMove(new Point2D(10, 20));
+    }
+
+    @Test
+    public void moveMouse_does_not_skip_move_when_cursor_was_moved_elsewhere() {
+        // given:
+        baseRobot.moveMouse(new Point2D(10, 20));
+        given(robotAdapter.getMouseLocation()).willReturn(new Point2D(30, 40));
+
+        // when:
+        baseRobot.moveMouse(new Point2D(10, 20));
+
+        // then:
+        verify(robotAdapter, times(2)).mouseMove(new Point2D(10, 20));
+    }
+
+}
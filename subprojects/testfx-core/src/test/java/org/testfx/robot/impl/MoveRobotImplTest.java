@@ -23,13 +23,18 @@ import org.junit.Test;
 import org.testfx.robot.MouseRobot;
 import org.testfx.robot.MoveRobot;
 import org.testfx.robot.BaseRobot;
+import org.testfx.robot.MotionProfile;
 import org.testfx.robot.SleepRobot;
 import org.testfx.service.query.PointQuery;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -124,6 +129,25 @@ public final class MoveRobotImplTest {
         verify(baseRobot, times(2)).awaitEvents();
     }
 
+    @Test
+    public void moveTo_the_current_point() {
+        // given:
+        Point2D sourcePoint = new Point2D(10, 0);
+        given(baseRobot.retrieveMouse()).willReturn(sourcePoint);
+
+        // and:
+        Point2D targetPoint = new Point2D(10, 0);
+        PointQuery pointQuery = mock(PointQuery.class);
+        given(pointQuery.query()).willReturn(targetPoint);
+
+        // when:
+        moveRobot.moveTo(pointQuery);
+
+        // then:
+        verify(baseRobot, times(1)).moveMouse(targetPoint);
+        verify(baseRobot, times(1)).awaitEvents();
+    }
+
     @Test
     public void moveBy_a_distance_of_10_pixels() {
         // given:
@@ -156,4 +180,58 @@ public final class MoveRobotImplTest {
         verify(baseRobot, times(1)).awaitEvents();
     }
 
+    @Test
+    public void moveBy_with_teleport_motion_profile() {
+        // given:
+        Point2D sourcePoint = new Point2D(0, 0);
+        given(baseRobot.retrieveMouse()).willReturn(sourcePoint);
+        moveRobot.setMotionProfile(MotionProfile.teleport());
+
+        // when:
+        Point2D targetPoint = new Point2D(1000, 0);
+        moveRobot.moveBy(1000, 0);
+
+        // then:
+        verify(baseRobot, never()).moveMouse(not(eq(targetPoint)));
+        verify(baseRobot, times(1)).moveMouse(targetPoint);
+        verify(sleepRobot, never()).sleep(anyLong());
+    }
+
+    @Test
+    public void moveBy_with_eased_motion_profile() {
+        // given:
+        Point2D sourcePoint = new Point2D(0, 0);
+        given(baseRobot.retrieveMouse()).willReturn(sourcePoint);
+        moveRobot.setMotionProfile(MotionProfile.eased(0));
+
+        // when:
+        Point2D targetPoint = new Point2D(10, 0);
+        moveRobot.moveBy(10, 0);
+
+        // then:
+        verify(baseRobot, times(1)).moveMouse(new Point2D(0, 0));
+        verify(baseRobot, times(1)).moveMouse(new Point2D(5, 0));
+        verify(baseRobot, times(10)).moveMouse(not(eq(targetPoint)));
+        verify(baseRobot, times(1)).moveMouse(targetPoint);
+    }
+
+    @Test
+    public void motionProfile_linear_spreads_delays_over_duration() {
+        // given:
+        MotionProfile motionProfile = MotionProfile.linear(100);
+
+        // expect:
+        assertThat(motionProfile.calculateStepCount(1000), is(200));
+        assertThat(motionProfile.calculateDelayAfterStep(0, 200, 0), is(0L));
+        assertThat(motionProfile.calculateDelayAfterStep(99, 200, 0), is(50L));
+        assertThat(motionProfile.calculateDelayAfterStep(199, 200, 60), is(40L));
+        assertThat(motionProfile.calculateDelayAfterStep(199, 200, 120), is(0L));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void motionProfile_linear_with_negative_duration() {
+        // expect:
+        MotionProfile.linear(-1);
+    }
+
 }
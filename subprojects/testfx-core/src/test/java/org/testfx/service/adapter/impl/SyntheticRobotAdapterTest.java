@@ -0,0 +1,323 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.service.locator.PointLocator;
+import org.testfx.service.locator.impl.BoundsLocatorImpl;
+import org.testfx.service.locator.impl.PointLocatorImpl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SyntheticRobotAdapterTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    public SyntheticRobotAdapter robotAdapter;
+
+    public Stage targetStage;
+    public Parent sceneRoot;
+
+    public Region region;
+    public Point2D regionPoint;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        robotAdapter = new SyntheticRobotAdapter();
+        targetStage = FxToolkit.setupStage(stage -> {
+            region = new Region();
+            region.setStyle("-fx-background-color: magenta;");
+
+            VBox box = new VBox(region);
+            box.setPadding(new Insets(10));
+            box.setSpacing(10);
+            VBox.setVgrow(region, Priority.ALWAYS);
+
+            sceneRoot = new StackPane(box);
+            Scene scene = new Scene(sceneRoot, 300, 100);
+            stage.setScene(scene);
+            stage.show();
+        });
+
+        PointLocator pointLocator = new PointLocatorImpl(new BoundsLocatorImpl());
+        regionPoint = pointLocator.point(region).atPosition(Pos.CENTER).query();
+    }
+
+    @After
+    public void cleanup() {
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        robotAdapter.timerWaitForIdle();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    // ROBOT.
+
+    @Test
+    public void robotCreate() {
+        // when:
+        robotAdapter.robotCreate();
+
+        // then:
+        assertThat(robotAdapter.getRobotInstance(), notNullValue());
+    }
+
+    @Test
+    public void robotDestroy() {
+        // given:
+        robotAdapter.robotCreate();
+
+        // when:
+        robotAdapter.robotDestroy();
+
+        // then:
+        assertThat(robotAdapter.getRobotInstance(), nullValue());
+    }
+
+    // KEY.
+
+    @Test
+    public void keyPress() {
+        // given:
+        List<KeyEvent> keyEvents = new CopyOnWriteArrayList<>();
+        targetStage.addEventHandler(KeyEvent.ANY, keyEvents::add);
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.keyPress(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        assertThat(keyEvents.get(1).getEventType(), is(KeyEvent.KEY_PRESSED));
+        assertThat(keyEvents.get(1).isShiftDown(), is(true));
+        assertThat(keyEvents.get(2).getEventType(), is(KeyEvent.KEY_TYPED));
+        assertThat(keyEvents.get(2).getCharacter(), is("A"));
+    }
+
+    @Test
+    public void keyPress_punctuation() {
+        // given:
+        List<KeyEvent> keyEvents = new CopyOnWriteArrayList<>();
+        targetStage.addEventHandler(KeyEvent.KEY_TYPED, keyEvents::add);
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.keyPress(KeyCode.PERIOD);
+        robotAdapter.keyRelease(KeyCode.PERIOD);
+        robotAdapter.keyPress(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.DIGIT1);
+        robotAdapter.keyRelease(KeyCode.DIGIT1);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        assertThat(keyEvents.get(0).getCharacter(), is("."));
+        assertThat(keyEvents.get(1).getCharacter(), is("!"));
+    }
+
+    // MOUSE.
+
+    @Test
+    public void mouseMove() {
+        // when:
+        robotAdapter.mouseMove(new Point2D(100, 200));
+
+        // then:
+        assertThat(robotAdapter.getMouseLocation(), is(new Point2D(100, 200)));
+    }
+
+    @Test
+    public void mouseMove_does_not_move_mouse_of_other_adapter() {
+        // given:
+        SyntheticRobotAdapter otherRobotAdapter = new SyntheticRobotAdapter();
+        otherRobotAdapter.mouseMove(new Point2D(10, 20));
+
+        // when:
+        robotAdapter.mouseMove(new Point2D(100, 200));
+
+        // then:
+        assertThat(otherRobotAdapter.getMouseLocation(), is(new Point2D(10, 20)));
+    }
+
+    @Test
+    public void mouseMove_after_scene_was_replaced() throws Exception {
+        // given:
+        robotAdapter.mouseMove(regionPoint);
+        robotAdapter.timerWaitForIdle();
+
+        // and:
+        Region replacementRegion = new Region();
+        List<MouseEvent> mouseEvents = new CopyOnWriteArrayList<>();
+        replacementRegion.addEventHandler(MouseEvent.MOUSE_MOVED, mouseEvents::add);
+        FxToolkit.setupStage(stage -> stage.setScene(new Scene(replacementRegion, 300, 100)));
+
+        // when:
+        robotAdapter.mouseMove(regionPoint.add(1, 0));
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        assertThat(mouseEvents.size(), is(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mousePress() {
+        // given:
+        EventHandler<MouseEvent> mouseEventHandler = mock(EventHandler.class);
+        region.addEventHandler(MouseEvent.MOUSE_PRESSED, mouseEventHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        verify(mouseEventHandler, times(1)).handle(any());
+    }
+
+    @Test
+    public void mouseRelease_clickCount() {
+        // given:
+        List<Integer> clickCounts = new CopyOnWriteArrayList<>();
+        region.addEventHandler(MouseEvent.MOUSE_CLICKED,
+            event -> clickCounts.add(event.getClickCount()));
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        assertThat(clickCounts, contains(1, 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mouseMove_dragDetected() {
+        // given:
+        EventHandler<MouseEvent> mouseEventHandler = mock(EventHandler.class);
+        region.addEventHandler(MouseEvent.DRAG_DETECTED, mouseEventHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseMove(regionPoint.add(20, 0));
+        robotAdapter.mouseMove(regionPoint.add(40, 0));
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        verify(mouseEventHandler, times(1)).handle(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mouseWheel() {
+        // given:
+        EventHandler<ScrollEvent> scrollEventHandler = mock(EventHandler.class);
+        region.addEventHandler(ScrollEvent.SCROLL, scrollEventHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionPoint);
+
+        // when:
+        robotAdapter.mouseWheel(1);
+
+        // then:
+        robotAdapter.timerWaitForIdle();
+        verify(scrollEventHandler, times(1)).handle(any());
+    }
+
+    // CAPTURE.
+
+    @Test
+    public void getCaptureRegion() {
+        // when:
+        Rectangle2D region = new Rectangle2D(regionPoint.getX(), regionPoint.getY(), 10, 20);
+        Image regionImage = robotAdapter.getCaptureRegion(region);
+
+        // then:
+        assertThat(regionImage.getWidth(), is(10.0));
+        assertThat(regionImage.getHeight(), is(20.0));
+        assertThat(regionImage.getPixelReader().getColor(5, 10), is(Color.web("magenta")));
+    }
+
+}
@@ -16,7 +16,10 @@
  */
 package org.testfx.service.finder.impl;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -47,6 +50,7 @@ import org.testfx.service.finder.WindowFinder;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assume.assumeThat;
@@ -180,6 +184,35 @@ public class NodeFinderImplTest {
         assertThat(nodeFinder.lookup("third").query(), is(thirdClassLabel));
     }
 
+    @Test
+    public void lookupBatch_strings() {
+        // when:
+        Map<String, Set<Node>> nodes = nodeFinder.lookupBatch("#firstId", ".sub", "third",
+            "#nonExistentNode");
+
+        // then:
+        assertThat(nodes.keySet(), contains("#firstId", ".sub", "third", "#nonExistentNode"));
+        assertThat(nodes.get("#firstId"), contains(firstIdLabel));
+        assertThat(nodes.get(".sub"), contains(subLabel, subSubLabel));
+        assertThat(nodes.get("third"), contains(thirdClassLabel));
+        assertThat(nodes.get("#nonExistentNode"), is(empty()));
+    }
+
+    @Test
+    public void lookupBatch_predicates() {
+        // given:
+        Map<String, Predicate<Node>> predicates = new LinkedHashMap<>();
+        predicates.put("twins", node -> "twin".equals(node.getId()));
+        predicates.put("invisible", node -> !node.isVisible());
+
+        // when:
+        Map<String, Set<Node>> nodes = nodeFinder.lookupBatch(predicates);
+
+        // then:
+        assertThat(nodes.get("twins"), contains(invisibleTwin, visibleTwin));
+        assertThat(nodes.get("invisible"), contains(invisibleNode, invisibleTwin));
+    }
+
     @Test
     @Ignore("error is only used for robots")
     public void node_string_cssQuery_nonExistentNode() {
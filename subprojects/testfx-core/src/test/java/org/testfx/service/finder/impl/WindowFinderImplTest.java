@@ -17,6 +17,7 @@
 package org.testfx.service.finder.impl;
 
 import java.util.List;
+import java.util.regex.Pattern;
 import javafx.scene.Scene;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
@@ -127,6 +128,41 @@ public class WindowFinderImplTest {
         assertThat(orderedWindows, Matchers.hasItems((Window) otherWindow));
     }
 
+    @Test
+    public void listTargetWindows_ownedWindowsFirst() {
+        // given:
+        windowFinder.targetWindow(windowInWindow);
+
+        // when:
+        List<Window> orderedWindows = windowFinder.listTargetWindows();
+
+        // then:
+        assertThat(orderedWindows.subList(0, 2),
+            Matchers.contains(windowInWindow, windowInWindowInWindow));
+    }
+
+    @Test
+    public void listTargetWindows_shownWindow() throws Exception {
+        // given:
+        windowFinder.targetWindow(window);
+        List<Window> orderedWindows = windowFinder.listTargetWindows();
+
+        // when:
+        Stage shownWindow = FxToolkit.setupFixture(() -> {
+            Stage stage = new Stage();
+            stage.initOwner(window);
+            stage.show();
+            return stage;
+        });
+        List<Window> reorderedWindows = windowFinder.listTargetWindows();
+        FxToolkit.setupFixture(() -> shownWindow.close());
+
+        // then:
+        assertThat(orderedWindows, Matchers.not(Matchers.hasItem(shownWindow)));
+        assertThat(reorderedWindows, Matchers.hasItem(shownWindow));
+        assertThat(reorderedWindows.indexOf(shownWindow), Matchers.is(1));
+    }
+
     @Test
     public void targetWindow_window() {
         // when:
@@ -184,6 +220,22 @@ public class WindowFinderImplTest {
         assertThat(windowFinder.window("otherWindow"), Matchers.is((Window) otherWindow));
     }
 
+    @Test
+    public void window_stageTitleRegex() {
+        // expect:
+        assertThat(windowFinder.window("other.*"), Matchers.is((Window) otherWindow));
+        assertThat(windowFinder.window("(window)+InWindow"), Matchers.is((Window) windowInWindow));
+    }
+
+    @Test
+    public void window_stageTitlePattern() {
+        // given:
+        Pattern stageTitlePattern = Pattern.compile("OTHERWINDOW", Pattern.CASE_INSENSITIVE);
+
+        // expect:
+        assertThat(windowFinder.window(stageTitlePattern), Matchers.is((Window) otherWindow));
+    }
+
     @Test
     public void window_scene() {
         // expect:
@@ -17,6 +17,7 @@
 package org.testfx.service.query.impl;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -34,7 +35,9 @@ import org.testfx.api.FxToolkit;
 import org.testfx.service.query.NodeQuery;
 
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
@@ -229,6 +232,43 @@ public class NodeQueryImplTest {
         assertThat(result, contains(label0, label1, label2));
     }
 
+    @Test
+    public void lookup_with_text_that_parses_as_selector() {
+        // given:
+        label1.setText("File.txt");
+        label2.setText("[OK]");
+
+        // expect:
+        assertThat(nodeQuery.from(rootOfScene(scene)).lookup("File.txt").queryAll(),
+            contains(label1));
+        assertThat(new NodeQueryImpl().from(rootOfScene(scene)).lookup("[OK]").queryAll(),
+            contains(label2));
+    }
+
+    @Test
+    public void lookup_with_type_selector_and_child_combinator() {
+        // when:
+        Set<Node> result = nodeQuery
+            .from(rootOfScene(scene))
+            .lookup("css:HBox > Label")
+            .queryAll();
+
+        // then:
+        assertThat(result, contains(label0, label1, label2));
+    }
+
+    @Test
+    public void lookup_with_type_selector_and_attribute_selector() {
+        // when:
+        Set<Node> result = nodeQuery
+            .from(rootOfScene(scene))
+            .lookup("css:Button[text='1']")
+            .queryAll();
+
+        // then:
+        assertThat(result, contains(button1));
+    }
+
     @Test
     public void lookup_lookup() {
         // when:
@@ -323,4 +363,100 @@ public class NodeQueryImplTest {
         assertThat(result, contains(button1));
     }
 
+    @Test
+    public void lookup_query_stops_at_first_match_when_lazy() {
+        // given:
+        AtomicInteger predicateCalls = new AtomicInteger();
+
+        // when:
+        Node result = new NodeQueryImpl()
+            .lazy()
+            .from(rootOfScene(scene))
+            .lookup((Node node) -> predicateCalls.incrementAndGet() > 0 && node instanceof Label)
+            .query();
+
+        // then:
+        assertThat(result, is(label0));
+        assertThat(predicateCalls.get(), is(4));
+    }
+
+    @Test
+    public void lookup_sees_scene_graph_at_time_of_call() {
+        // given:
+        nodeQuery
+            .from(rootOfScene(scene))
+            .lookup(".label");
+
+        // when:
+        labels.getChildren().remove(label2);
+        Set<Node> result = nodeQuery.queryAll();
+
+        // then:
+        assertThat(result, contains(label0, label1, label2));
+    }
+
+    @Test
+    public void lookup_nth_with_duplicate_parents() {
+        // when:
+        Set<Node> result = nodeQuery
+            .from(labels, rootOfScene(scene).iterator().next())
+            .lookup((Node node) -> node instanceof Label)
+            .nth(3)
+            .queryAll();
+
+        // then:
+        assertThat(result, is(empty()));
+    }
+
+    @Test
+    public void explain_profiled_query() {
+        // when:
+        Set<Node> result = nodeQuery
+            .profile()
+            .from(labels)
+            .lookup((Label label) -> "1".equals(label.getText()))
+            .queryAll();
+
+        // then:
+        assertThat(result, contains(label1));
+        assertThat(nodeQuery.explain(), containsString(
+            String.format("%-40s %8d %10d %10d %8d", "lookup(predicate)", 4, 4, 1, 1)));
+    }
+
+    @Test
+    public void lookup_type_with_predicate() {
+        // when:
+        Set<Node> result = nodeQuery
+            .profile()
+            .from(labels)
+            .lookup(Label.class, (label) -> "1".equals(label.getText()))
+            .queryAll();
+
+        // then:
+        assertThat(result, contains(label1));
+        assertThat(nodeQuery.explain(), containsString(
+            String.format("%-40s %8d %10d %10d %8d", "lookup(Label, predicate)", 4, 4, 0, 1)));
+    }
+
+    @Test
+    public void lookup_type_with_matcher() {
+        // when:
+        Set<Node> result = nodeQuery
+            .from(rootOfScene(scene))
+            .lookup(TextField.class, hasProperty("text", is("2")))
+            .queryAll();
+
+        // then:
+        assertThat(result, contains(textfield2));
+    }
+
+    @Test
+    public void explain_is_empty_without_profile() {
+        // when:
+        nodeQuery.from(labels).lookup(".label").queryAll();
+
+        // then:
+        assertThat(nodeQuery.explain(), is(""));
+    }
+
 }
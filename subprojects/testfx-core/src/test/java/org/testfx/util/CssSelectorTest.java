@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.Set;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CssSelectorTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    VBox root;
+    HBox toolbar;
+    Button saveButton;
+    Button cancelButton;
+    Label label;
+    Label nestedLabel;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        saveButton = new Button("Save");
+        saveButton.setId("save");
+        cancelButton = new Button("Cancel");
+        nestedLabel = new Label("nested");
+        toolbar = new HBox(saveButton, cancelButton, new VBox(nestedLabel));
+        toolbar.getStyleClass().add("toolbar");
+        label = new Label("Status");
+        root = new VBox(toolbar, label);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void lookupAll_with_type_selector() {
+        // when:
+        Set<Node> result = CssSelector.compile("Button").lookupAll(root);
+
+        // then:
+        assertThat(result, contains(saveButton, cancelButton));
+    }
+
+    @Test
+    public void lookupAll_with_id_and_class_selector() {
+        // when:
+        Set<Node> result = CssSelector.compile(".toolbar #save").lookupAll(root);
+
+        // then:
+        assertThat(result, contains(saveButton));
+    }
+
+    @Test
+    public void lookupAll_with_child_combinator() {
+        // when:
+        Set<Node> result = CssSelector.compile(".toolbar > Label, VBox > .label").lookupAll(root);
+
+        // then:
+        assertThat(result, contains(nestedLabel, label));
+    }
+
+    @Test
+    public void lookupAll_with_descendant_combinator() {
+        // when:
+        Set<Node> result = CssSelector.compile(".toolbar .label").lookupAll(root);
+
+        // then:
+        assertThat(result, contains(nestedLabel));
+    }
+
+    @Test
+    public void lookupAll_with_attribute_selector() {
+        // when:
+        Set<Node> result = CssSelector.compile("Button[text='Cancel']").lookupAll(root);
+
+        // then:
+        assertThat(result, contains(cancelButton));
+    }
+
+    @Test
+    public void matches_with_pseudo_class_selector() {
+        // when:
+        cancelButton.setDisable(true);
+
+        // then:
+        assertThat(CssSelector.compile(".button:disabled").matches(cancelButton), is(true));
+        assertThat(CssSelector.compile(".button:disabled").matches(saveButton), is(false));
+    }
+
+    @Test
+    public void compile_is_cached() {
+        // expect:
+        assertThat(CssSelector.compile(".toolbar > .button"),
+            sameInstance(CssSelector.compile(".toolbar > .button")));
+    }
+
+    @Test
+    public void isStructural() {
+        // expect:
+        assertThat(CssSelector.compile("VBox > .toolbar #save").isStructural(), is(true));
+        assertThat(CssSelector.compile(".button:disabled").isStructural(), is(false));
+        assertThat(CssSelector.compile("Label[text='Status']").isStructural(), is(false));
+    }
+
+    @Test
+    public void compile_with_invalid_selector() {
+        // expect:
+        thrown.expect(IllegalArgumentException.class);
+        CssSelector.compile(".toolbar >");
+    }
+
+}
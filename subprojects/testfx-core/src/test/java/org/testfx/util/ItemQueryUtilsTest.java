@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.MapValueFactory;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static javafx.collections.FXCollections.observableArrayList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class ItemQueryUtilsTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void rowsOf_after_one_row_changed() {
+        // given:
+        TableView<Map> tableView = new TableView<>(observableArrayList(
+            item("alice"), item("bob"), item("bob"), item("carol")
+        ));
+        TableColumn<Map, String> tableColumn = new TableColumn<>("name");
+        tableColumn.setCellValueFactory(new MapValueFactory<>("name"));
+        tableView.getColumns().add(tableColumn);
+        assertThat(ItemQueryUtils.rowsOf(tableView, "bob"), contains(1, 2));
+
+        // when:
+        tableView.getItems().get(1).put("name", "erin");
+        tableView.getItems().get(3).put("name", "bob");
+
+        // then:
+        assertThat(ItemQueryUtils.rowsOf(tableView, "bob"), contains(2, 3));
+        assertThat(ItemQueryUtils.rowsOf(tableView, "erin"), contains(1));
+    }
+
+    @Test
+    public void rowsOf_after_cell_value_property_changed() {
+        // given:
+        TableView<StringProperty> tableView = new TableView<>(observableArrayList(
+            new SimpleStringProperty("alice"),
+            new SimpleStringProperty("bob"),
+            new SimpleStringProperty("carol")
+        ));
+        TableColumn<StringProperty, String> tableColumn = new TableColumn<>("name");
+        tableColumn.setCellValueFactory((features) -> features.getValue());
+        tableView.getColumns().add(tableColumn);
+        assertThat(ItemQueryUtils.rowsOf(tableView, "alice"), contains(0));
+
+        // when:
+        tableView.getItems().get(2).set("alice");
+
+        // then:
+        assertThat(ItemQueryUtils.rowsOf(tableView, "alice"), contains(0, 2));
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // HELPER METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    private static Map<String, String> item(String name) {
+        Map<String, String> item = new HashMap<>();
+        item.put("name", name);
+        return item;
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class SceneBoundsIndexTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    Scene scene;
+    Pane root;
+    Rectangle topLeft;
+    Rectangle bottomRight;
+    Group group;
+    Rectangle nested;
+
+    SceneBoundsIndex index;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        topLeft = new Rectangle(0, 0, 100, 100);
+        bottomRight = new Rectangle(200, 200, 50, 50);
+        nested = new Rectangle(90, 90, 20, 20);
+        group = new Group(nested);
+        root = new Pane(topLeft, bottomRight, group);
+        scene = new Scene(root);
+        index = SceneBoundsIndex.enable(scene);
+    }
+
+    @After
+    public void cleanup() {
+        SceneBoundsIndex.disable(scene);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void lookupAt_in_scene_graph_order() {
+        // expect:
+        assertThat(index.lookupAt(root, new Point2D(95, 95)),
+            contains(root, topLeft, group, nested));
+        assertThat(index.lookupAt(group, new Point2D(95, 95)), contains(group, nested));
+    }
+
+    @Test
+    public void lookupWithin() {
+        // expect:
+        assertThat(index.lookupWithin(root, new BoundingBox(190, 190, 100, 100)),
+            contains(root, bottomRight));
+    }
+
+    @Test
+    public void lookupAt_after_bounds_change() {
+        // when:
+        bottomRight.setLayoutY(-200);
+
+        // then:
+        assertThat(index.lookupAt(root, new Point2D(210, 10)), contains(root, bottomRight));
+    }
+
+    @Test
+    public void lookupAt_after_transform_change_of_ancestor() {
+        // given:
+        index.lookupAt(root, new Point2D(95, 95));
+
+        // when:
+        group.setTranslateX(300);
+
+        // then:
+        assertThat(index.lookupAt(root, new Point2D(395, 95)), contains(root, group, nested));
+        assertThat(index.lookupAt(root, new Point2D(95, 95)), contains(root, topLeft));
+    }
+
+    @Test
+    public void lookupAt_walks_scene_graph_on_fx_thread() {
+        // given:
+        List<Boolean> walkedOnFxThread = new CopyOnWriteArrayList<>();
+        Pane otherRoot = new Pane(new Rectangle(0, 0, 10, 10)) {
+            @Override
+            public ObservableList<Node> getChildrenUnmodifiable() {
+                walkedOnFxThread.add(Platform.isFxApplicationThread());
+                return super.getChildrenUnmodifiable();
+            }
+        };
+        Scene otherScene = new Scene(otherRoot);
+
+        // when:
+        SceneBoundsIndex.enable(otherScene).lookupAt(otherRoot, new Point2D(5, 5));
+
+        // then:
+        assertThat(walkedOnFxThread, not(empty()));
+        assertThat(walkedOnFxThread, everyItem(is(true)));
+        SceneBoundsIndex.disable(otherScene);
+    }
+
+    @Test
+    public void boundsInScene_from_index() {
+        // expect:
+        assertThat(SceneBoundsIndex.boundsInScene(nested),
+            is(nested.localToScene(nested.getBoundsInLocal())));
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import com.google.common.base.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class SceneGraphIndexTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    Scene scene;
+    VBox root;
+    HBox toolbar;
+    Button saveButton;
+    Button cancelButton;
+    Label label;
+    TextField textField;
+
+    SceneGraphIndex index;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        saveButton = new Button("Save");
+        saveButton.setId("save");
+        cancelButton = new Button("Cancel");
+        toolbar = new HBox(saveButton, cancelButton);
+        toolbar.getStyleClass().add("toolbar");
+        label = new Label("Save");
+        textField = new TextField("Save");
+        root = new VBox(toolbar, label, textField);
+        scene = new Scene(root);
+        index = SceneGraphIndex.enable(scene);
+    }
+
+    @After
+    public void cleanup() {
+        SceneGraphIndex.disable(scene);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void of_returns_enabled_index() {
+        // expect:
+        assertThat(SceneGraphIndex.of(saveButton).get(), is(index));
+        assertThat(SceneGraphIndex.of(new Label()).isPresent(), is(false));
+    }
+
+    @Test
+    public void lookupByText_in_scene_graph_order() {
+        // expect:
+        assertThat(index.lookupByText(root, "Save"), contains(saveButton, label, textField));
+        assertThat(index.lookupByText(toolbar, "Save"), contains(saveButton));
+    }
+
+    @Test
+    public void lookupById_after_id_change() {
+        // when:
+        saveButton.setId(null);
+        cancelButton.setId("save");
+
+        // then:
+        assertThat(index.lookupById(root, "save"), contains(cancelButton));
+    }
+
+    @Test
+    public void lookupById_after_id_change_and_removal() {
+        // given:
+        saveButton.setId("other");
+
+        // when:
+        toolbar.getChildren().remove(saveButton);
+        saveButton.setId("save");
+
+        // then:
+        assertThat(index.lookupById(root, "other"), is(empty()));
+        assertThat(index.lookupById(saveButton, "save"), is(empty()));
+    }
+
+    @Test
+    public void enable_walks_scene_graph_on_fx_thread() {
+        // given:
+        List<Boolean> walkedOnFxThread = new CopyOnWriteArrayList<>();
+        VBox otherRoot = new VBox(new Label("Other")) {
+            @Override
+            public ObservableList<Node> getChildrenUnmodifiable() {
+                walkedOnFxThread.add(Platform.isFxApplicationThread());
+                return super.getChildrenUnmodifiable();
+            }
+        };
+        Scene otherScene = new Scene(otherRoot);
+
+        // when:
+        SceneGraphIndex.enable(otherScene);
+
+        // then:
+        assertThat(walkedOnFxThread, not(empty()));
+        assertThat(walkedOnFxThread, everyItem(is(true)));
+        SceneGraphIndex.disable(otherScene);
+    }
+
+    @Test
+    public void lookupBySelector_after_children_change() {
+        // given:
+        HBox otherToolbar = new HBox();
+        otherToolbar.getStyleClass().add("toolbar");
+
+        // when:
+        root.getChildren().remove(toolbar);
+        root.getChildren().add(0, otherToolbar);
+
+        // then:
+        assertThat(index.lookupBySelector(root, ".toolbar").get(), contains(otherToolbar));
+        assertThat(index.lookupById(root, "save"), is(empty()));
+        assertThat(index.lookupBySelector(root, ".toolbar > .button").isPresent(), is(false));
+    }
+
+    @Test
+    public void lookupByType_with_subclasses() {
+        // when:
+        label.setText("Status");
+
+        // then:
+        assertThat(index.lookupByType(root, Button.class), contains(saveButton, cancelButton));
+        assertThat(index.lookupByText(root, "Status"), contains(label));
+    }
+
+    @Test
+    public void getModificationCount_after_change() {
+        // given:
+        long modificationCount = index.getModificationCount();
+
+        // when:
+        textField.setText("Cancel");
+
+        // then:
+        assertThat(index.getModificationCount(), greaterThan(modificationCount));
+    }
+
+    @Test
+    public void lookupCached_until_change() {
+        // given:
+        AtomicInteger lookupCount = new AtomicInteger();
+        Supplier<Set<Node>> lookup = () -> {
+            lookupCount.incrementAndGet();
+            return index.lookupById(root, "save");
+        };
+
+        // when:
+        index.lookupCached(root, "#save", lookup);
+        Set<Node> cachedNodes = index.lookupCached(root, "#save", lookup);
+
+        // then:
+        assertThat(lookupCount.get(), is(1));
+        assertThat(cachedNodes, contains(saveButton));
+
+        // when:
+        toolbar.getChildren().remove(saveButton);
+        Set<Node> resultNodes = index.lookupCached(root, "#save", lookup);
+
+        // then:
+        assertThat(lookupCount.get(), is(2));
+        assertThat(resultNodes, is(empty()));
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.SceneGraphWalker.VisitResult;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class SceneGraphWalkerTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIELDS.
+    //---------------------------------------------------------------------------------------------
+
+    VBox root;
+    HBox toolbar;
+    Button saveButton;
+    Button cancelButton;
+    VBox nestedBox;
+    Label nestedLabel;
+    Label label;
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        saveButton = new Button("Save");
+        cancelButton = new Button("Cancel");
+        nestedLabel = new Label("nested");
+        nestedBox = new VBox(nestedLabel);
+        toolbar = new HBox(saveButton, cancelButton, nestedBox);
+        label = new Label("Status");
+        root = new VBox(toolbar, label);
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void iterator_in_pre_order() {
+        // when:
+        List<Node> nodes = ImmutableList.copyOf(SceneGraphWalker.create().iterator(root));
+
+        // then:
+        assertThat(nodes, contains(
+            root, toolbar, saveButton, cancelButton, nestedBox, nestedLabel, label));
+    }
+
+    @Test
+    public void collect_with_pruned_subtree() {
+        // given:
+        nestedBox.setVisible(false);
+
+        // when:
+        List<Node> nodes = SceneGraphWalker.create()
+            .prune(node -> !node.isVisible())
+            .collect(root, node -> node instanceof Label);
+
+        // then:
+        assertThat(nodes, contains(label));
+    }
+
+    @Test
+    public void collect_with_max_depth() {
+        // when:
+        List<Node> nodes = SceneGraphWalker.create()
+            .maxDepth(1)
+            .collect(root, node -> true);
+
+        // then:
+        assertThat(nodes, contains(root, toolbar, label));
+    }
+
+    @Test
+    public void walk_with_skipped_children_and_stop() {
+        // given:
+        List<Node> visitedNodes = Lists.newArrayList();
+
+        // when:
+        SceneGraphWalker.create().walk(root, (node, depth) -> {
+            visitedNodes.add(node);
+            if (node == nestedBox) {
+                return VisitResult.SKIP_CHILDREN;
+            }
+            return node == label ? VisitResult.STOP : VisitResult.CONTINUE;
+        });
+
+        // then:
+        assertThat(visitedNodes, contains(
+            root, toolbar, saveButton, cancelButton, nestedBox, label));
+    }
+
+}
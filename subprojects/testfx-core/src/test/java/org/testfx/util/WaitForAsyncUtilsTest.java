@@ -16,17 +16,37 @@
  */
 package org.testfx.util;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.util.Duration;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.hamcrest.Matchers;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.testfx.api.FxToolkit;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -104,6 +124,33 @@ public class WaitForAsyncUtilsTest {
         WaitForAsyncUtils.waitFor(50, MILLISECONDS, future);
     }
 
+    @Test(timeout=1000)
+    public void waitFor_with_future_with_sleep_cancels_task() throws Exception {
+        // given:
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        Future<Void> future = WaitForAsyncUtils.async(() -> {
+            try {
+                Thread.sleep(500);
+            }
+            catch (InterruptedException exception) {
+                interrupted.set(true);
+            }
+            return null;
+        });
+        long cancelledCount = WaitForAsyncUtils.getCancelledCount();
+
+        // when:
+        try {
+            WaitForAsyncUtils.waitFor(50, MILLISECONDS, future);
+        }
+        catch (TimeoutException ignore) {}
+
+        // then:
+        assertThat(future.isCancelled(), Matchers.is(true));
+        assertThat(WaitForAsyncUtils.getCancelledCount(), Matchers.is(cancelledCount + 1));
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, () -> interrupted.get());
+    }
+
     @Test(timeout=1000)
     public void waitFor_with_future_cancelled() throws Exception {
         // given:
@@ -149,6 +196,279 @@ public class WaitForAsyncUtilsTest {
         });
     }
 
+    @Test(timeout=1000)
+    public void waitFor_with_booleanCallable_and_observable() throws Exception {
+        // given:
+        BooleanProperty property = new SimpleBooleanProperty(false);
+        WaitForAsyncUtils.async(() -> {
+            WaitForAsyncUtils.sleepWithException(50, MILLISECONDS);
+            property.set(true);
+            return null;
+        });
+
+        // expect:
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, () -> property.get(), property);
+    }
+
+    @Test(timeout=1000)
+    public void waitFor_with_booleanCallable_and_observable_with_false() throws Exception {
+        // given:
+        BooleanProperty property = new SimpleBooleanProperty(false);
+
+        // expect:
+        thrown.expect(TimeoutException.class);
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, () -> property.get(), property);
+    }
+
+    @Test(timeout=1000)
+    public void asyncWaitFor_with_booleanCallable() throws Exception {
+        // given:
+        AtomicBoolean flag = new AtomicBoolean(false);
+        Future<Void> future = WaitForAsyncUtils.asyncWaitFor(250, MILLISECONDS, flag::get);
+
+        // when:
+        flag.set(true);
+
+        // then:
+        WaitForAsyncUtils.waitFor(future);
+    }
+
+    @Test(timeout=1000)
+    public void asyncWaitFor_with_booleanCallable_with_false() throws Exception {
+        // given:
+        Future<Void> future = WaitForAsyncUtils.asyncWaitFor(250, MILLISECONDS, () -> false);
+
+        // expect:
+        thrown.expectCause(instanceOf(TimeoutException.class));
+        WaitForAsyncUtils.waitFor(future);
+    }
+
+    @Test(timeout=1000)
+    public void async_with_asyncThreadPool() throws Exception {
+        // given:
+        AsyncThreadPool threadPool = new AsyncThreadPool("test-async", 2, 8);
+
+        // when:
+        Future<?> future = threadPool.submit(() -> {
+            WaitForAsyncUtils.sleep(50, MILLISECONDS);
+        });
+        future.get();
+        threadPool.shutdown();
+        threadPool.awaitTermination(250, MILLISECONDS);
+
+        // then:
+        assertThat(threadPool.getStartedTaskCount(), Matchers.is(1L));
+        assertThat(threadPool.getMaxRunTime(MILLISECONDS), Matchers.greaterThanOrEqualTo(50L));
+        assertThat(threadPool.getQueueDepth(), Matchers.is(0));
+    }
+
+    @Test(timeout=1000)
+    public void async_with_asyncThreadPool_and_full_queue() throws Exception {
+        // given:
+        AsyncThreadPool threadPool = new AsyncThreadPool("test-async", 2, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Future<?>> blockedFutures = new ArrayList<>();
+        for (int index = 0; index < 2; index++) {
+            blockedFutures.add(threadPool.submit(() -> {
+                latch.await();
+                return null;
+            }));
+        }
+        Future<String> queuedFuture = threadPool.submit(() -> Thread.currentThread().getName());
+        AtomicBoolean rejectedTaskRun = new AtomicBoolean();
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        // when:
+        try {
+            threadPool.submit(() -> rejectedTaskRun.set(true));
+        }
+        catch (RejectedExecutionException exception) {
+            rejected.set(true);
+        }
+
+        // then:
+        assertThat(rejected.get(), Matchers.is(true));
+        assertThat(rejectedTaskRun.get(), Matchers.is(false));
+        assertThat(threadPool.getQueueDepth(), Matchers.is(1));
+
+        // when:
+        latch.countDown();
+
+        // then:
+        assertThat(queuedFuture.get(), Matchers.startsWith("test-async-"));
+        for (Future<?> blockedFuture : blockedFutures) {
+            blockedFuture.get();
+        }
+        threadPool.shutdown();
+    }
+
+    @Test(timeout=1000)
+    public void asyncExecutor_with_deadline() throws Exception {
+        // given:
+        WaitForAsyncUtils.setDeadline(5000, MILLISECONDS);
+
+        // when:
+        long remainingMillis;
+        try {
+            remainingMillis = CompletableFuture.supplyAsync(
+                () -> WaitForAsyncUtils.remainingDeadline(MILLISECONDS),
+                WaitForAsyncUtils.asyncExecutor()
+            ).get();
+        }
+        finally {
+            WaitForAsyncUtils.clearDeadline();
+        }
+
+        // then:
+        assertThat(remainingMillis, Matchers.lessThanOrEqualTo(5000L));
+    }
+
+    @Test(timeout=10000)
+    public void asyncStage_chained_with_asyncFxStage() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+
+        // when:
+        Future<String> future = WaitForAsyncUtils.asyncStage(() -> "foo")
+            .thenComposeAsync(value -> WaitForAsyncUtils.asyncFxStage(() ->
+                value + Platform.isFxApplicationThread()
+            ), WaitForAsyncUtils.fxExecutor());
+
+        // then:
+        assertThat(WaitForAsyncUtils.waitFor(future), Matchers.is("footrue"));
+    }
+
+    @Test(timeout=1000)
+    public void toCompletableFuture_with_exception() throws Exception {
+        // given:
+        Callable<Void> callable = () -> {
+            throw new UnsupportedOperationException();
+        };
+        Future<Void> future = WaitForAsyncUtils.toCompletableFuture(
+            WaitForAsyncUtils.async(callable)
+        );
+
+        // expect:
+        thrown.expectCause(instanceOf(UnsupportedOperationException.class));
+        WaitForAsyncUtils.waitFor(future);
+    }
+
+    @Test(timeout=10000)
+    public void batchFx_with_asyncFx() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // when:
+        WaitForAsyncUtils.batchFx(() -> {
+            futures.add(WaitForAsyncUtils.asyncFx(() -> 1));
+            futures.add(WaitForAsyncUtils.asyncFx(() -> 2));
+            assertThat(futures.get(0).isDone(), Matchers.is(false));
+        });
+
+        // then:
+        assertThat(WaitForAsyncUtils.waitFor(futures.get(0)), Matchers.is(1));
+        assertThat(WaitForAsyncUtils.waitFor(futures.get(1)), Matchers.is(2));
+    }
+
+    @Test(timeout=1000)
+    public void waitFor_with_booleanCallable_with_deadline() throws Exception {
+        // given:
+        WaitForAsyncUtils.setDeadline(100, MILLISECONDS);
+
+        // expect:
+        thrown.expect(TimeoutException.class);
+        try {
+            WaitForAsyncUtils.waitFor(5000, MILLISECONDS, () -> false);
+        }
+        finally {
+            WaitForAsyncUtils.clearDeadline();
+        }
+    }
+
+    @Test(timeout=1000)
+    public void async_with_deadline() throws Exception {
+        // given:
+        WaitForAsyncUtils.setDeadline(100, MILLISECONDS);
+        Future<Void> future;
+        try {
+            future = WaitForAsyncUtils.async(() -> {
+                WaitForAsyncUtils.waitFor(5000, MILLISECONDS, () -> false);
+                return null;
+            });
+        }
+        finally {
+            WaitForAsyncUtils.clearDeadline();
+        }
+
+        // expect:
+        thrown.expectCause(instanceOf(TimeoutException.class));
+        WaitForAsyncUtils.waitFor(future);
+    }
+
+    @Test(timeout=10000)
+    public void waitForFxEvents_with_deadline_and_blocked_fx_thread() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> Uninterruptibles.awaitUninterruptibly(latch));
+        WaitForAsyncUtils.setDeadline(100, MILLISECONDS);
+
+        // when:
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        try {
+            WaitForAsyncUtils.waitForFxEvents(5);
+        }
+        finally {
+            WaitForAsyncUtils.clearDeadline();
+            latch.countDown();
+        }
+
+        // then:
+        assertThat(stopwatch.elapsed(MILLISECONDS), Matchers.lessThan(1000L));
+    }
+
+    @Test(timeout=10000)
+    public void waitForFxIdle_after_nested_runLater() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        AtomicBoolean nestedRunnableCalled = new AtomicBoolean();
+        WaitForAsyncUtils.asyncFx(() -> {
+            Platform.runLater(() -> nestedRunnableCalled.set(true));
+        });
+
+        // when:
+        boolean idle = WaitForAsyncUtils.waitForFxIdle(1000, MILLISECONDS);
+
+        // then:
+        assertThat(idle, Matchers.is(true));
+        assertThat(nestedRunnableCalled.get(), Matchers.is(true));
+    }
+
+    @Test(timeout=10000)
+    public void waitForFxIdle_with_running_animation() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        IntegerProperty property = new SimpleIntegerProperty(0);
+        Timeline timeline = new Timeline(
+            new KeyFrame(Duration.seconds(1), new KeyValue(property, 100))
+        );
+        timeline.setCycleCount(Animation.INDEFINITE);
+        WaitForAsyncUtils.waitForAsyncFx(1000, timeline::play);
+
+        // when:
+        boolean idle;
+        try {
+            idle = WaitForAsyncUtils.waitForFxIdle(1000, MILLISECONDS);
+        }
+        finally {
+            WaitForAsyncUtils.waitForAsyncFx(1000, timeline::stop);
+        }
+
+        // then:
+        assertThat(idle, Matchers.is(true));
+    }
+
     @Test(timeout=1000)
     public void waitFor_with_booleanValue() throws Exception {
         // given:
@@ -178,4 +498,104 @@ public class WaitForAsyncUtilsTest {
         WaitForAsyncUtils.waitFor(250, MILLISECONDS, property);
     }
 
+    @Test(timeout=1000)
+    public void waitFor_with_observableValue_and_predicate() throws Exception {
+        // given:
+        IntegerProperty property = new SimpleIntegerProperty(0);
+        WaitForAsyncUtils.async(() -> {
+            for (int value = 1; value <= 3; value++) {
+                WaitForAsyncUtils.sleepWithException(20, MILLISECONDS);
+                property.set(value);
+            }
+            return null;
+        });
+
+        // expect:
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, property, value -> value.intValue() == 3);
+    }
+
+    @Test(timeout=1000)
+    public void waitFor_with_anyOf_observableConditions() throws Exception {
+        // given:
+        BooleanProperty property = new SimpleBooleanProperty(false);
+        ObservableList<String> list = FXCollections.observableArrayList();
+        WaitForAsyncUtils.async(() -> {
+            WaitForAsyncUtils.sleepWithException(50, MILLISECONDS);
+            list.add("foo");
+            return null;
+        });
+
+        // expect:
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, ObservableCondition.anyOf(
+            ObservableCondition.value(property, value -> value),
+            ObservableCondition.list(list, items -> items.contains("foo"))
+        ));
+    }
+
+    @Test(timeout=1000)
+    public void waitFor_with_allOf_observableConditions_with_false() throws Exception {
+        // given:
+        BooleanProperty property = new SimpleBooleanProperty(true);
+        ObservableList<String> list = FXCollections.observableArrayList();
+
+        // expect:
+        thrown.expect(TimeoutException.class);
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, ObservableCondition.allOf(
+            ObservableCondition.value(property, value -> value),
+            ObservableCondition.list(list, items -> items.contains("foo"))
+        ));
+    }
+
+    @Test(timeout=10000)
+    public void waitFor_with_observableCondition_and_blocked_fx_thread() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        BooleanProperty property = new SimpleBooleanProperty(false);
+        AtomicInteger conditionCalls = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> Uninterruptibles.awaitUninterruptibly(latch));
+
+        // when:
+        boolean timedOut = false;
+        try {
+            WaitForAsyncUtils.waitFor(250, MILLISECONDS,
+                ObservableCondition.value(property, value -> {
+                    conditionCalls.incrementAndGet();
+                    return value;
+                }));
+        }
+        catch (TimeoutException exception) {
+            timedOut = true;
+        }
+        finally {
+            latch.countDown();
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+        int callsAfterRegistration = conditionCalls.get();
+        WaitForAsyncUtils.asyncFx(() -> property.set(true)).get();
+
+        // then:
+        assertThat(timedOut, Matchers.is(true));
+        assertThat(conditionCalls.get(), Matchers.is(callsAfterRegistration));
+    }
+
+    @Test(timeout=1000)
+    public void sleep_with_scaled_clock() throws Exception {
+        // given:
+        SleepClock previousClock = SleepClock.current();
+        SleepClock.setCurrent(SleepClock.scaled(0.01));
+
+        // when:
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        try {
+            WaitForAsyncUtils.sleep(5000, MILLISECONDS);
+        }
+        finally {
+            SleepClock.setCurrent(previousClock);
+        }
+
+        // then:
+        assertThat(stopwatch.elapsed(MILLISECONDS), Matchers.lessThan(500L));
+    }
+
 }
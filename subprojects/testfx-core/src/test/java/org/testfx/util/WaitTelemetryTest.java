@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2015 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+public class WaitTelemetryTest {
+
+    //---------------------------------------------------------------------------------------------
+    // FIXTURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Before
+    public void setup() {
+        WaitTelemetry.reset();
+        WaitTelemetry.setEnabled(true);
+    }
+
+    @After
+    public void cleanup() {
+        WaitTelemetry.setEnabled(false);
+        WaitTelemetry.reset();
+    }
+
+    //---------------------------------------------------------------------------------------------
+    // FEATURE METHODS.
+    //---------------------------------------------------------------------------------------------
+
+    @Test
+    public void record_wait() throws Exception {
+        // when:
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, () -> true);
+
+        // then:
+        assertThat(WaitTelemetry.count("waitFor(timeout,Callable)"), is(1L));
+        assertThat(WaitTelemetry.timeoutCount("waitFor(timeout,Callable)"), is(0L));
+    }
+
+    @Test
+    public void record_timeout_with_call_site() throws Exception {
+        // when:
+        try {
+            WaitForAsyncUtils.waitFor(50, MILLISECONDS, () -> false);
+        }
+        catch (TimeoutException ignore) {}
+
+        // then:
+        assertThat(WaitTelemetry.timeoutCount("waitFor(timeout,Callable)"), is(1L));
+        assertThat(WaitTelemetry.toJson(), containsString("WaitTelemetryTest.java"));
+    }
+
+    @Test(timeout=10000)
+    public void record_timeout_of_fx_events_wait() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> Uninterruptibles.awaitUninterruptibly(latch));
+        WaitForAsyncUtils.setDeadline(50, MILLISECONDS);
+
+        // when:
+        try {
+            WaitForAsyncUtils.waitForFxEvents(5);
+        }
+        finally {
+            WaitForAsyncUtils.clearDeadline();
+            latch.countDown();
+        }
+
+        // then:
+        assertThat(WaitTelemetry.timeoutCount("waitForFxEvents(attempts)"), is(1L));
+    }
+
+    @Test(timeout=10000)
+    public void record_no_timeout_of_completed_fx_events_wait() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+
+        // when:
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(WaitTelemetry.count("waitForFxEvents()"), is(1L));
+        assertThat(WaitTelemetry.timeoutCount("waitForFxEvents()"), is(0L));
+    }
+
+    @Test
+    public void record_nested_wait_only_once() throws Exception {
+        // when:
+        WaitForAsyncUtils.waitForAsync(250, () -> {});
+
+        // then:
+        assertThat(WaitTelemetry.count("waitForAsync(millis,Runnable)"), is(1L));
+        assertThat(WaitTelemetry.count("waitFor(timeout,Future)"), is(0L));
+    }
+
+    @Test
+    public void ignore_wait_when_disabled() throws Exception {
+        // given:
+        WaitTelemetry.setEnabled(false);
+
+        // when:
+        WaitForAsyncUtils.waitFor(250, MILLISECONDS, () -> true);
+
+        // then:
+        assertThat(WaitTelemetry.toJson(), is("{\"waits\":{}}"));
+    }
+
+}
@@ -22,9 +22,12 @@ import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
 import org.testfx.api.FxRobot;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
 
 import java.util.function.Consumer;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 public class ApplicationRule extends FxRobot
         implements ApplicationFixture, TestRule {
 
@@ -50,11 +53,26 @@ public class ApplicationRule extends FxRobot
     }
 
     private void before() throws Exception {
-        FxToolkit.registerPrimaryStage();
-        FxToolkit.setupApplication(() -> new ApplicationAdapter(this));
+        long testTimeoutInMillis = FxToolkit.toolkitContext().getTestTimeoutInMillis();
+        if (testTimeoutInMillis > 0) {
+            WaitForAsyncUtils.setDeadline(testTimeoutInMillis, MILLISECONDS);
+        }
+        boolean started = false;
+        try {
+            FxToolkit.registerPrimaryStage();
+            FxToolkit.setupApplication(() -> new ApplicationAdapter(this));
+            started = true;
+        }
+        finally {
+            if (!started) {
+                // after() does not run when before() fails.
+                WaitForAsyncUtils.clearDeadline();
+            }
+        }
     }
 
     private void after() throws Exception {
+        WaitForAsyncUtils.clearDeadline();
         FxToolkit.cleanupApplication(new ApplicationAdapter(this));
     }
 
@@ -27,6 +27,9 @@ import org.junit.Before;
 import org.testfx.api.FxRobot;
 import org.testfx.api.FxToolkit;
 import org.testfx.api.annotation.Unstable;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @Unstable(reason = "might be renamed to ApplicationTestBase")
 public abstract class ApplicationTest extends FxRobot implements ApplicationFixture {
@@ -50,6 +53,10 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
     @Unstable(reason = "is missing apidocs")
     public final void internalBefore()
                               throws Exception {
+        long testTimeoutInMillis = FxToolkit.toolkitContext().getTestTimeoutInMillis();
+        if (testTimeoutInMillis > 0) {
+            WaitForAsyncUtils.setDeadline(testTimeoutInMillis, MILLISECONDS);
+        }
         FxToolkit.registerPrimaryStage();
         FxToolkit.setupApplication(() -> new ApplicationAdapter(this));
     }
@@ -58,6 +65,8 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
     @Unstable(reason = "is missing apidocs")
     public final void internalAfter()
                              throws Exception {
+        // cleanup gets its own timeout, so that a test that ran out of time is still cleaned up.
+        WaitForAsyncUtils.clearDeadline();
         FxToolkit.cleanupApplication(new ApplicationAdapter(this));
     }
 